@@ -4,9 +4,17 @@ import models.Food;
 
 public class DoorDashAdapter implements DeliveryPlatform {
     private DoorDashAPI doorDashAPI;
+    private String storeCode;
+    private String storeName;
 
     public DoorDashAdapter() {
+        this("DB_STORE_001", "Delicious Bites");
+    }
+
+    public DoorDashAdapter(String storeCode, String storeName) {
         this.doorDashAPI = new DoorDashAPI();
+        this.storeCode = storeCode;
+        this.storeName = storeName;
     }
 
     @Override
@@ -17,11 +25,12 @@ public class DoorDashAdapter implements DeliveryPlatform {
                         "  <item>\n" +
                         "    <name>%s</name>\n" +
                         "    <price>%.2f</price>\n" +
-                        "    <store>Delicious Bites</store>\n" +
+                        "    <store>%s</store>\n" +
                         "  </item>\n" +
                         "</menu>",
                 food.getName(),
-                food.getPrice()
+                food.getPrice(),
+                storeName
         );
 
         return doorDashAPI.publishItem(xmlData);
@@ -30,7 +39,7 @@ public class DoorDashAdapter implements DeliveryPlatform {
     @Override
     public boolean acceptOrder(String orderId, double amount) {
         // Adapt: DoorDash needs store code and item name
-        return doorDashAPI.processDeliveryOrder("DB_STORE_001", "Order #" + orderId, amount);
+        return doorDashAPI.processDeliveryOrder(storeCode, "Order #" + orderId, amount);
     }
 
     @Override
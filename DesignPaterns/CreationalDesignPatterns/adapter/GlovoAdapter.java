@@ -7,10 +7,16 @@ import java.util.Map;
 
 public class GlovoAdapter implements DeliveryPlatform {
     private GlovoAPI glovoAPI;
+    private String vendor;
     private static final String API_KEY = "glovo_api_key_xyz123";
 
     public GlovoAdapter() {
+        this("Delicious Bites");
+    }
+
+    public GlovoAdapter(String vendor) {
         this.glovoAPI = new GlovoAPI();
+        this.vendor = vendor;
     }
 
     @Override
@@ -20,7 +26,7 @@ public class GlovoAdapter implements DeliveryPlatform {
         itemData.put("item_name", food.getName());
         itemData.put("cost", food.getPrice());
         itemData.put("currency", "USD");
-        itemData.put("vendor", "Delicious Bites");
+        itemData.put("vendor", vendor);
 
         return glovoAPI.syncMenuItem(itemData, API_KEY);
     }
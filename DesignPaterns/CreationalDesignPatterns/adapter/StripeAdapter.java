@@ -1,5 +1,7 @@
 package adapter;
 
+import models.Money;
+
 // Adapter - adapts Stripe's interface to PaymentProcessor interface
 public class StripeAdapter implements PaymentProcessor {
     private StripePayment stripePayment;
@@ -12,7 +14,7 @@ public class StripeAdapter implements PaymentProcessor {
     public boolean processPayment(String customerName, double amount) {
         // Adapt our interface to Stripe's interface
         String customerId = "cus_" + customerName.hashCode();
-        int amountInCents = (int)(amount * 100); // Convert dollars to cents
+        int amountInCents = Money.toIntCents(Money.ofDollars(amount)); // Convert dollars to cents (rounded)
         return stripePayment.charge(customerId, amountInCents);
     }
 
@@ -23,7 +25,7 @@ public class StripeAdapter implements PaymentProcessor {
 
     @Override
     public boolean refund(String transactionId, double amount) {
-        int amountInCents = (int)(amount * 100);
+        int amountInCents = Money.toIntCents(Money.ofDollars(amount));
         return stripePayment.createRefund(transactionId, amountInCents);
     }
 }
@@ -1,12 +1,19 @@
 package adapter;
 
 import models.Food;
+import models.Money;
 
 public class UberEatsAdapter implements DeliveryPlatform {
     private UberEatsAPI uberEatsAPI;
+    private String restaurantId;
 
     public UberEatsAdapter() {
+        this("delicious_bites_001");
+    }
+
+    public UberEatsAdapter(String restaurantId) {
         this.uberEatsAPI = new UberEatsAPI();
+        this.restaurantId = restaurantId;
     }
 
     @Override
@@ -17,10 +24,11 @@ public class UberEatsAdapter implements DeliveryPlatform {
                         "  \"dish_name\": \"%s\",\n" +
                         "  \"price_usd\": %.2f,\n" +
                         "  \"category\": \"main\",\n" +
-                        "  \"restaurant_id\": \"delicious_bites_001\"\n" +
+                        "  \"restaurant_id\": \"%s\"\n" +
                         "}",
                 food.getName(),
-                food.getPrice()
+                food.getPrice(),
+                restaurantId
         );
 
         return uberEatsAPI.addMenuItem(jsonData);
@@ -28,9 +36,9 @@ public class UberEatsAdapter implements DeliveryPlatform {
 
     @Override
     public boolean acceptOrder(String orderId, double amount) {
-        // Adapt: Convert dollars to cents
-        int priceInCents = (int)(amount * 100);
-        return uberEatsAPI.createOrder("delicious_bites_001", priceInCents);
+        // Adapt: Convert dollars to cents (rounded, not truncated)
+        int priceInCents = Money.toIntCents(Money.ofDollars(amount));
+        return uberEatsAPI.createOrder(restaurantId, priceInCents);
     }
 
     @Override
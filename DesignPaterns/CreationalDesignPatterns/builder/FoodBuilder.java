@@ -1,16 +1,29 @@
 package builder;
 
+import inventory.IngredientInventory;
 import models.*;
 
 public class FoodBuilder {
     private Food food;
+    private final IngredientInventory inventory;
 
     public FoodBuilder(Food food) {
+        this(food, IngredientInventory.getInstance());
+    }
+
+    // inventory == null skips the stock check (used for preset prototypes)
+    public FoodBuilder(Food food, IngredientInventory inventory) {
         this.food = food;
+        this.inventory = inventory;
     }
 
-    // Builder method - adds ingredient and returns this for chaining
+    // Builder method - adds the ingredient and returns this for chaining.
+    // Throws IllegalStateException if the kitchen has run out of it. Nothing is taken from the stock
+    // here; that happens when the order is placed, so an abandoned builder holds nothing.
     public FoodBuilder addIngredient(Ingredient ingredient) {
+        if (inventory != null && !inventory.isAvailable(ingredient)) {
+            throw new IllegalStateException(ingredient.getName() + " is out of stock");
+        }
         if (food instanceof Pizza) {
             ((Pizza) food).addIngredient(ingredient);
         } else if (food instanceof Burger) {
@@ -23,7 +36,7 @@ public class FoodBuilder {
 
     // Convenience method for adding multiple ingredients
     public FoodBuilder addIngredient(String name, double price) {
-        return addIngredient(new Ingredient(name, price));
+        return addIngredient(Ingredient.of(name, price, PriceList.current()));
     }
 
     // Build method - returns the completed Food object
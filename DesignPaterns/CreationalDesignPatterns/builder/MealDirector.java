@@ -2,8 +2,33 @@ package builder;
 
 import models.Meal;
 
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 // Director class - controls construction sequence
+//
+// A preset meal depends only on the preset and the main dish, and Meal is immutable, so meals built by
+// the standard MealBuilder are cached and shared: one instance per (preset, main dish), with the least
+// recently used main dishes dropped once a preset has CACHE_SIZE_PER_PRESET of them. Custom builders
+// always run the full construction sequence. Either way the builder is reset afterwards, so whatever was
+// set on it before (or by the construction itself) never leaks into the next meal it builds.
 public class MealDirector {
+    private static final int CACHE_SIZE_PER_PRESET = 256;
+
+    private static final Map<MealPreset, Map<String, Meal>> CACHE = new EnumMap<>(MealPreset.class);
+
+    static {
+        for (MealPreset preset : MealPreset.values()) {
+            CACHE.put(preset, new LinkedHashMap<String, Meal>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Meal> eldest) {
+                    return size() > CACHE_SIZE_PER_PRESET;
+                }
+            });
+        }
+    }
+
     private IMealBuilder builder;
 
     public MealDirector(IMealBuilder builder) {
@@ -16,43 +41,54 @@ public class MealDirector {
 
     // Constructs a "Standard Meal" with predefined steps
     public Meal constructStandardMeal(String mainDish) {
-        return builder
-                .reset()
-                .setMainDish(mainDish)
-                .setSideDish("French Fries")
-                .setDrink("Coca-Cola")
-                .setDessert("Ice Cream")
-                .build();
+        return construct(MealPreset.STANDARD, mainDish);
     }
 
     // Constructs a "Healthy Meal" with different configuration
     public Meal constructHealthyMeal(String mainDish) {
-        return builder
-                .reset()
-                .setMainDish(mainDish)
-                .setSideDish("Salad")
-                .setDrink("Water")
-                // No dessert for healthy meal
-                .build();
+        return construct(MealPreset.HEALTHY, mainDish);
     }
 
     // Constructs a "Kids Meal"
     public Meal constructKidsMeal(String mainDish) {
-        return builder
-                .reset()
-                .setMainDish(mainDish)
-                .setSideDish("Onion Rings")
-                .setDrink("Orange Juice")
-                .setDessert("Brownie")
-                .build();
+        return construct(MealPreset.KIDS, mainDish);
     }
 
     // Constructs a "Budget Meal" (minimal options)
     public Meal constructBudgetMeal(String mainDish) {
-        return builder
-                .reset()
-                .setMainDish(mainDish)
-                .setDrink("Water")
-                .build();
+        return construct(MealPreset.BUDGET, mainDish);
+    }
+
+    public Meal construct(MealPreset preset, String mainDish) {
+        if (builder.getClass() != MealBuilder.class) {
+            return build(builder, preset, mainDish);
+        }
+        Map<String, Meal> meals = CACHE.get(preset);
+        synchronized (meals) {
+            Meal meal = meals.get(mainDish);
+            if (meal == null) {
+                meal = build(builder, preset, mainDish);
+                meals.put(mainDish, meal);
+            } else {
+                builder.reset();
+            }
+            return meal;
+        }
+    }
+
+    private static Meal build(IMealBuilder builder, MealPreset preset, String mainDish) {
+        IMealBuilder steps = builder.reset().setMainDish(mainDish);
+        if (preset.getSideDish() != null) {
+            steps.setSideDish(preset.getSideDish());
+        }
+        if (preset.getDrink() != null) {
+            steps.setDrink(preset.getDrink());
+        }
+        if (preset.getDessert() != null) {
+            steps.setDessert(preset.getDessert());
+        }
+        Meal meal = steps.build();
+        builder.reset();
+        return meal;
     }
 }
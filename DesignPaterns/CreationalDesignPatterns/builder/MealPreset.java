@@ -0,0 +1,31 @@
+package builder;
+
+// The fixed meal configurations MealDirector knows; only the main dish varies
+public enum MealPreset {
+    STANDARD("French Fries", "Coca-Cola", "Ice Cream"),
+    HEALTHY("Salad", "Water", null),          // No dessert for healthy meal
+    KIDS("Onion Rings", "Orange Juice", "Brownie"),
+    BUDGET(null, "Water", null);              // Minimal options
+
+    private final String sideDish;
+    private final String drink;
+    private final String dessert;
+
+    MealPreset(String sideDish, String drink, String dessert) {
+        this.sideDish = sideDish;
+        this.drink = drink;
+        this.dessert = dessert;
+    }
+
+    public String getSideDish() {
+        return sideDish;
+    }
+
+    public String getDrink() {
+        return drink;
+    }
+
+    public String getDessert() {
+        return dessert;
+    }
+}
@@ -7,14 +7,21 @@ import singleton.*;
 import decorator.*;
 import adapter.*;
 import composite.*;
+import inventory.*;
+import prototype.FoodPresets;
 
+import java.time.Instant;
 import java.util.Scanner;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Collections;
 
 public class Main {
-    private static Scanner scanner = new Scanner(System.in);
-    private static SystemConfig config = SystemConfig.getInstance();
+    // The console is created on first use, so a scripted order never opens System.in.
+    // SystemConfig is still loaded by a scripted order: OrderManager needs it for the delivery fee.
+    private static class Console {
+        private static final Scanner SCANNER = new Scanner(System.in);
+    }
     private static Order currentOrder;
     private static String customerName = "";
     private static String deliveryAddress = "";
@@ -24,6 +31,11 @@ public class Main {
     private static List<String> specialRequests = new ArrayList<>();
 
     public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("--order")) {
+            runScriptedOrder(args);
+            return;
+        }
+
         displayWelcome();
         currentOrder = new Order(orderIdCounter++, "Guest");
 
@@ -45,14 +57,111 @@ public class Main {
                     System.out.println("\nInvalid choice! Please select 1-7.");
             }
         }
-        scanner.close();
+        scanner().close();
+    }
+
+    private static Scanner scanner() {
+        return Console.SCANNER;
+    }
+
+    private static SystemConfig config() {
+        return SystemConfig.getInstance();
+    }
+
+    // Fast path for short-lived processes: place one order and exit, without the interactive menus.
+    // Usage: --order <pizza|burger|salad>[:<ingredient numbers, e.g. 1,3>] [--customer <name>]
+    //    or: --order "<preset, e.g. pepperoni pizza>" [--customer <name>]
+    private static void runScriptedOrder(String[] args) {
+        if (args.length < 2) {
+            exitWithUsage(null);
+        }
+        String name = "Guest";
+        for (int i = 2; i + 1 < args.length; i += 2) {
+            if (args[i].equals("--customer")) {
+                name = args[i + 1];
+            }
+        }
+
+        String[] spec = args[1].split(":", 2);
+        String foodType = spec[0];
+        FoodFactory factory = null;
+        try {
+            factory = FoodFactoryProvider.getFactory(foodType);
+        } catch (IllegalArgumentException e) {
+            // Not a food type - the presets are only loaded when one is asked for
+            if (spec.length == 1 && FoodPresets.names().contains(foodType.toLowerCase())) {
+                placeScriptedOrder(name, orderPreset(foodType));
+                return;
+            }
+            exitWithUsage(e.getMessage());
+        }
+        Food food = factory.createFood();
+        if (spec.length > 1) {
+            List<Ingredient> available = IngredientCatalog.getIngredientsForType(foodType);
+            FoodBuilder builder = new FoodBuilder(food);
+            for (String sel : spec[1].split(",")) {
+                try {
+                    int index = Integer.parseInt(sel.trim()) - 1;
+                    if (index >= 0 && index < available.size()) {
+                        builder.addIngredient(available.get(index));
+                    }
+                } catch (NumberFormatException e) {
+                    // Skip invalid input
+                } catch (IllegalStateException e) {
+                    System.out.println("Skipping: " + e.getMessage());
+                }
+            }
+            food = builder.build();
+        }
+        placeScriptedOrder(name, food);
+    }
+
+    private static Food orderPreset(String preset) {
+        try {
+            return FoodPresets.order(preset);
+        } catch (IllegalStateException e) {
+            System.err.println("Sorry, " + e.getMessage() + ".");
+            System.exit(1);
+            return null;
+        }
+    }
+
+    private static void placeScriptedOrder(String name, Food food) {
+        OrderManager.Order order;
+        try {
+            order = OrderManager.getInstance().placeOrder(name, food, null);
+        } catch (IllegalStateException e) {
+            System.err.println("Sorry, " + e.getMessage() + ".");
+            System.exit(1);
+            return;
+        }
+        if (order == null) {
+            System.err.println("Sorry, the restaurant is not taking orders right now.");
+            System.exit(1);
+        }
+        System.out.println("Order #" + order.getId() + " placed successfully!");
+        System.out.printf("Total: $%.2f%n", order.getTotalAmount());
+
+        long startedAt = ProcessHandle.current().info().startInstant().map(Instant::toEpochMilli).orElse(-1L);
+        if (startedAt > 0) {
+            System.out.println("Time to first order: " + (System.currentTimeMillis() - startedAt) + " ms");
+        }
+    }
+
+    private static void exitWithUsage(String problem) {
+        if (problem != null) {
+            System.err.println(problem);
+        }
+        System.err.println("Usage: --order <pizza|burger|salad>[:1,3] [--customer <name>]");
+        System.err.println("   or: --order \"<preset>\" [--customer <name>]   presets: " + String.join(", ", sortedPresets()));
+        System.exit(1);
     }
 
     private static void displayWelcome() {
         System.out.println("\n" + "=".repeat(70));
-        System.out.println("Welcome to " + config.getRestaurantName() + "!");
+        System.out.println("Welcome to " + config().getRestaurantName() + "!");
         System.out.println("Your Digital Food Ordering Experience");
-        System.out.println("Status: " + config.getRestaurantStatus());
+        System.out.println("Status: " + config().getRestaurantStatus());
         System.out.println("=".repeat(70));
     }
 
@@ -74,7 +183,7 @@ public class Main {
         System.out.println("=".repeat(70));
         System.out.print("\nYour choice: ");
         try {
-            return Integer.parseInt(scanner.nextLine());
+            return Integer.parseInt(scanner().nextLine());
         } catch (NumberFormatException e) {
             return -1;
         }
@@ -92,7 +201,7 @@ public class Main {
 
         int choice = 0;
         try {
-            choice = Integer.parseInt(scanner.nextLine());
+            choice = Integer.parseInt(scanner().nextLine());
         } catch (NumberFormatException e) {
             System.out.println("Invalid input!");
             return;
@@ -122,7 +231,7 @@ public class Main {
         if (selectedPlatform != null && currentOrder.getItems().size() > 0) {
             System.out.println("\nChanging platform will clear your cart!");
             System.out.print("Continue? (y/n): ");
-            if (!scanner.nextLine().trim().equalsIgnoreCase("y")) {
+            if (!scanner().nextLine().trim().equalsIgnoreCase("y")) {
                 return;
             }
             currentOrder = new Order(orderIdCounter++, customerName.isEmpty() ? "Guest" : customerName);
@@ -145,12 +254,13 @@ public class Main {
         System.out.println("\n1. Pizza - Delicious wood-fired pizza");
         System.out.println("2. Burger - Juicy grilled burger");
         System.out.println("3. Salad - Fresh and healthy salad");
+        System.out.println("4. House Favourites - our popular ready-made dishes");
         System.out.println("0. Back to main menu");
         System.out.print("\nWhat would you like? ");
 
         int choice = 0;
         try {
-            choice = Integer.parseInt(scanner.nextLine());
+            choice = Integer.parseInt(scanner().nextLine());
         } catch (NumberFormatException e) {
             System.out.println("Invalid input!");
             return;
@@ -158,17 +268,24 @@ public class Main {
 
         if (choice == 0) return;
 
-        String foodType = getFoodType(choice);
-        if (foodType == null) {
-            System.out.println("Invalid selection!");
-            return;
+        Food food;
+        String foodType;
+        if (choice == 4) {
+            food = choosePreset();
+            if (food == null) return;
+            foodType = food instanceof Pizza ? "pizza" : food instanceof Burger ? "burger" : "salad";
+        } else {
+            foodType = getFoodType(choice);
+            if (foodType == null) {
+                System.out.println("Invalid selection!");
+                return;
+            }
+            FoodFactory factory = FoodFactoryProvider.getFactory(foodType);
+            food = factory.createFood();
         }
 
-        FoodFactory factory = FoodFactoryProvider.getFactory(foodType);
-        Food food = factory.createFood();
-
         System.out.print("\nWould you like to customize it? (y/n): ");
-        if (scanner.nextLine().trim().equalsIgnoreCase("y")) {
+        if (scanner().nextLine().trim().equalsIgnoreCase("y")) {
             food = addCustomIngredients(food, foodType);
         }
 
@@ -176,7 +293,7 @@ public class Main {
         System.out.println("\n" + food.getName() + " added to your order!");
 
         System.out.print("\nOrder something else? (y/n): ");
-        if (scanner.nextLine().trim().equalsIgnoreCase("y")) {
+        if (scanner().nextLine().trim().equalsIgnoreCase("y")) {
             browseAndOrderFood();
         }
     }
@@ -192,10 +309,11 @@ public class Main {
         System.out.println("=".repeat(70));
         System.out.println("\nCreate your perfect meal combo!");
         System.out.print("Give your combo a name (e.g., 'My Special Combo'): ");
-        String comboName = scanner.nextLine().trim();
+        String comboName = scanner().nextLine().trim();
         if (comboName.isEmpty()) comboName = "My Combo";
 
         OrderItem combo = new OrderItem(comboName);
+        MenuCatalog catalog = MenuCatalog.current();  // sides, drinks and desserts all come from one catalog version
 
         System.out.println("\n--- STEP 1: Choose Your Main Dish ---");
         System.out.println("1. Pizza");
@@ -204,14 +322,14 @@ public class Main {
         System.out.print("Main dish: ");
 
         try {
-            int mainChoice = Integer.parseInt(scanner.nextLine());
+            int mainChoice = Integer.parseInt(scanner().nextLine());
             String foodType = getFoodType(mainChoice);
             if (foodType != null) {
                 FoodFactory factory = FoodFactoryProvider.getFactory(foodType);
                 Food mainDish = factory.createFood();
 
                 System.out.print("Customize it? (y/n): ");
-                if (scanner.nextLine().trim().equalsIgnoreCase("y")) {
+                if (scanner().nextLine().trim().equalsIgnoreCase("y")) {
                     mainDish = addCustomIngredients(mainDish, foodType);
                 }
 
@@ -223,88 +341,13 @@ public class Main {
         }
 
         System.out.println("\n--- STEP 2: Pick a Side ---");
-        System.out.println("1. French Fries ($3.00)");
-        System.out.println("2. Onion Rings ($3.50)");
-        System.out.println("3. Garlic Bread ($3.50)");
-        System.out.println("4. Side Salad ($2.50)");
-        System.out.println("0. No side");
-        System.out.print("Side: ");
-
-        try {
-            int sideChoice = Integer.parseInt(scanner.nextLine());
-            String sideName = null;
-            double sidePrice = 0;
-
-            switch (sideChoice) {
-                case 1: sideName = "French Fries"; sidePrice = 3.00; break;
-                case 2: sideName = "Onion Rings"; sidePrice = 3.50; break;
-                case 3: sideName = "Garlic Bread"; sidePrice = 3.50; break;
-                case 4: sideName = "Side Salad"; sidePrice = 2.50; break;
-            }
-
-            if (sideName != null) {
-                combo.add(new SimpleItem(sideName, sidePrice));
-                System.out.println(sideName + " added!");
-            }
-        } catch (Exception e) {
-            System.out.println("Skipping side...");
-        }
+        addComboItem(combo, catalog.getSides(), "No side", "Side: ", "Skipping side...");
 
         System.out.println("\n--- STEP 3: Choose Your Drink ---");
-        System.out.println("1. Coca-Cola ($2.50)");
-        System.out.println("2. Pepsi ($2.50)");
-        System.out.println("3. Sprite ($2.50)");
-        System.out.println("4. Water ($1.00)");
-        System.out.println("5. Orange Juice ($3.00)");
-        System.out.println("0. No drink");
-        System.out.print("Drink: ");
-
-        try {
-            int drinkChoice = Integer.parseInt(scanner.nextLine());
-            String drinkName = null;
-            double drinkPrice = 0;
-
-            switch (drinkChoice) {
-                case 1: drinkName = "Coca-Cola"; drinkPrice = 2.50; break;
-                case 2: drinkName = "Pepsi"; drinkPrice = 2.50; break;
-                case 3: drinkName = "Sprite"; drinkPrice = 2.50; break;
-                case 4: drinkName = "Water"; drinkPrice = 1.00; break;
-                case 5: drinkName = "Orange Juice"; drinkPrice = 3.00; break;
-            }
-
-            if (drinkName != null) {
-                combo.add(new SimpleItem(drinkName, drinkPrice));
-                System.out.println(drinkName + " added!");
-            }
-        } catch (Exception e) {
-            System.out.println("Skipping drink...");
-        }
+        addComboItem(combo, catalog.getDrinks(), "No drink", "Drink: ", "Skipping drink...");
 
         System.out.println("\n--- STEP 4: Add Dessert? (Optional) ---");
-        System.out.println("1. Ice Cream ($3.50)");
-        System.out.println("2. Brownie ($4.00)");
-        System.out.println("3. Apple Pie ($4.50)");
-        System.out.println("0. No dessert");
-        System.out.print("Dessert: ");
-
-        try {
-            int dessertChoice = Integer.parseInt(scanner.nextLine());
-            String dessertName = null;
-            double dessertPrice = 0;
-
-            switch (dessertChoice) {
-                case 1: dessertName = "Ice Cream"; dessertPrice = 3.50; break;
-                case 2: dessertName = "Brownie"; dessertPrice = 4.00; break;
-                case 3: dessertName = "Apple Pie"; dessertPrice = 4.50; break;
-            }
-
-            if (dessertName != null) {
-                combo.add(new SimpleItem(dessertName, dessertPrice));
-                System.out.println(dessertName + " added!");
-            }
-        } catch (Exception e) {
-            System.out.println("No dessert selected.");
-        }
+        addComboItem(combo, catalog.getDesserts(), "No dessert", "Dessert: ", "No dessert selected.");
 
         if (combo.getPrice() > 0) {
             currentOrder.add(combo);
@@ -317,6 +360,28 @@ public class Main {
         }
     }
 
+    // Lists one section of the menu catalog and adds the chosen entry to the combo
+    private static void addComboItem(OrderItem combo, List<MenuCatalog.Entry> entries,
+                                     String noneLabel, String prompt, String skipMessage) {
+        for (int i = 0; i < entries.size(); i++) {
+            MenuCatalog.Entry entry = entries.get(i);
+            System.out.println((i + 1) + ". " + entry.getName() + " ($" + Money.format(entry.getPriceCents()) + ")");
+        }
+        System.out.println("0. " + noneLabel);
+        System.out.print(prompt);
+
+        try {
+            int choice = Integer.parseInt(scanner().nextLine());
+            if (choice >= 1 && choice <= entries.size()) {
+                MenuCatalog.Entry entry = entries.get(choice - 1);
+                combo.add(SimpleItem.ofCents(entry.getName(), entry.getPriceCents()));
+                System.out.println(entry.getName() + " added!");
+            }
+        } catch (Exception e) {
+            System.out.println(skipMessage);
+        }
+    }
+
     private static void addEnhancements() {
         if (selectedPlatform == null) {
             System.out.println("\nPlease select a delivery platform first!");
@@ -346,7 +411,7 @@ public class Main {
 
         int choice = 0;
         try {
-            choice = Integer.parseInt(scanner.nextLine());
+            choice = Integer.parseInt(scanner().nextLine());
         } catch (NumberFormatException e) {
             return;
         }
@@ -355,7 +420,7 @@ public class Main {
             case 1:
                 System.out.print("\nEnter discount percentage (10-50): ");
                 try {
-                    int discount = Integer.parseInt(scanner.nextLine());
+                    int discount = Integer.parseInt(scanner().nextLine());
                     if (discount >= 10 && discount <= 50) {
                         appliedDiscountPercent = discount;
                         double savings = currentOrder.getPrice() * (discount / 100.0);
@@ -377,13 +442,13 @@ public class Main {
                 break;
             case 3:
                 System.out.print("\nSpecial instructions (e.g., 'no onions', 'extra sauce'): ");
-                String instructions = scanner.nextLine();
+                String instructions = scanner().nextLine();
                 specialRequests.add("INSTRUCTIONS: " + instructions);
                 System.out.println("Your instructions: \"" + instructions + "\"");
                 break;
             case 4:
                 System.out.print("\nGift message: ");
-                String message = scanner.nextLine();
+                String message = scanner().nextLine();
                 specialRequests.add("GIFT_MESSAGE: " + message);
                 System.out.println("Gift message added: \"" + message + "\" (+$1.50)");
                 break;
@@ -428,7 +493,7 @@ public class Main {
             }
         }
 
-        double deliveryFee = config.getDeliveryFee() + expressDeliveryFee;
+        double deliveryFee = config().getDeliveryFee() + expressDeliveryFee;
         double grandTotal = subtotalAfterDiscount + deliveryFee + giftMessageFee;
 
         System.out.println("\n" + "-".repeat(70));
@@ -442,7 +507,7 @@ public class Main {
         if (expressDeliveryFee > 0) {
             System.out.printf("Express Delivery Fee: $%.2f%n", expressDeliveryFee);
         }
-        System.out.printf("Standard Delivery Fee: $%.2f%n", config.getDeliveryFee());
+        System.out.printf("Standard Delivery Fee: $%.2f%n", config().getDeliveryFee());
 
         if (giftMessageFee > 0) {
             System.out.printf("Gift Message: $%.2f%n", giftMessageFee);
@@ -483,13 +548,13 @@ public class Main {
 
         if (customerName.isEmpty()) {
             System.out.print("\nYour name: ");
-            customerName = scanner.nextLine().trim();
+            customerName = scanner().nextLine().trim();
             if (customerName.isEmpty()) customerName = "Guest";
         }
 
         if (deliveryAddress.isEmpty()) {
             System.out.print("Delivery address: ");
-            deliveryAddress = scanner.nextLine().trim();
+            deliveryAddress = scanner().nextLine().trim();
             if (deliveryAddress.isEmpty()) {
                 System.out.println("Address is required!");
                 return;
@@ -504,7 +569,7 @@ public class Main {
 
         int paymentChoice = 0;
         try {
-            paymentChoice = Integer.parseInt(scanner.nextLine());
+            paymentChoice = Integer.parseInt(scanner().nextLine());
         } catch (NumberFormatException e) {
             System.out.println("Invalid input!");
             return;
@@ -531,7 +596,7 @@ public class Main {
             if (request.startsWith("GIFT_MESSAGE:")) giftMessageFee = 1.50;
         }
 
-        double total = subtotalAfterDiscount + config.getDeliveryFee() + expressDeliveryFee + giftMessageFee;
+        double total = subtotalAfterDiscount + config().getDeliveryFee() + expressDeliveryFee + giftMessageFee;
 
         System.out.println("\n" + "-".repeat(70));
         System.out.println("Processing your order via " + selectedPlatform.getPlatformName() + "...");
@@ -542,6 +607,13 @@ public class Main {
             }
         }
 
+        // The kitchen's stock is taken for the whole cart only now, all or nothing
+        IngredientInventory inventory = IngredientInventory.getInstance();
+        if (!inventory.tryReserve(currentOrder)) {
+            System.out.println("\nSorry, some of your items are out of stock. Please review your cart.");
+            return;
+        }
+
         String orderId = "ORD" + currentOrder.getOrderId();
         selectedPlatform.acceptOrder(orderId, total);
 
@@ -569,10 +641,43 @@ public class Main {
             appliedDiscountPercent = 0;
             specialRequests.clear();
         } else {
+            inventory.release(currentOrder);
             System.out.println("\nPayment failed! Please try again.");
         }
     }
 
+    // PROTOTYPE PATTERN - a favourite is copied from its preset, so the copy can be customized
+    // without touching the preset itself
+    private static Food choosePreset() {
+        List<String> presets = sortedPresets();
+        System.out.println("\n--- House Favourites (PROTOTYPE PATTERN) ---");
+        for (int i = 0; i < presets.size(); i++) {
+            System.out.println((i + 1) + ". " + presets.get(i));
+        }
+        System.out.print("Your pick: ");
+        try {
+            int index = Integer.parseInt(scanner().nextLine().trim()) - 1;
+            if (index < 0 || index >= presets.size()) {
+                System.out.println("Invalid selection!");
+                return null;
+            }
+            Food food = FoodPresets.order(presets.get(index));
+            System.out.printf("%s - $%.2f%n", presets.get(index), food.getPrice());
+            return food;
+        } catch (NumberFormatException e) {
+            System.out.println("Invalid input!");
+        } catch (IllegalStateException e) {
+            System.out.println("Sorry, " + e.getMessage() + ".");
+        }
+        return null;
+    }
+
+    private static List<String> sortedPresets() {
+        List<String> presets = new ArrayList<>(FoodPresets.names());
+        Collections.sort(presets);
+        return presets;
+    }
+
     private static String getFoodType(int choice) {
         switch (choice) {
             case 1: return "pizza";
@@ -589,7 +694,7 @@ public class Main {
         List<Ingredient> availableIngredients = IngredientCatalog.getIngredientsForType(foodType);
 
         System.out.print("\nSelect extras (comma-separated, e.g., 1,3,5) or press Enter to skip: ");
-        String input = scanner.nextLine().trim();
+        String input = scanner().nextLine().trim();
 
         if (!input.isEmpty()) {
             FoodBuilder builder = new FoodBuilder(food);
@@ -603,6 +708,8 @@ public class Main {
                     }
                 } catch (NumberFormatException e) {
                     // Skip invalid input
+                } catch (IllegalStateException e) {
+                    System.out.println("  Sorry, " + e.getMessage());
                 }
             }
             food = builder.build();
@@ -613,7 +720,7 @@ public class Main {
 
     private static void displayGoodbye() {
         System.out.println("\n" + "=".repeat(70));
-        System.out.println("Thank you for choosing " + config.getRestaurantName() + "!");
+        System.out.println("Thank you for choosing " + config().getRestaurantName() + "!");
         System.out.println("We hope to serve you again soon!");
         System.out.println("=".repeat(70));
     }
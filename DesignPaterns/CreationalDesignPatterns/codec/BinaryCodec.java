@@ -0,0 +1,467 @@
+package codec;
+
+import composite.MenuComponent;
+import composite.OrderItem;
+import composite.SimpleItem;
+import decorator.*;
+import models.*;
+import singleton.FoodSnapshot;
+import singleton.OrderManager;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+// Compact binary form of foods (with their decorator chains), meals, menu trees and orders, for
+// moving them between processes or onto disk.
+//
+// Every top-level value starts with the format VERSION and a type tag. Counts, lengths, ids and prices
+// are varints; strings are UTF-8 written straight into the buffer (no byte[] per string). An encoded
+// order starts with a fixed-width header, so OrderView can read id, time and totals in place without
+// decoding the rest.
+//
+// A recipe records the catalog version it was written against, and every ingredient carries its id,
+// price and name. Reading it back against the same catalog version maps ids straight to the catalog's
+// instances; against any other version an ingredient is looked up by name, and one the catalog no
+// longer has (or has at another price) comes back as an ad-hoc ingredient, so old blobs stay readable.
+public final class BinaryCodec {
+    public static final byte VERSION = 2;
+
+    private static final byte NULL = 0;
+    private static final byte PIZZA = 1;
+    private static final byte BURGER = 2;
+    private static final byte SALAD = 3;
+    private static final byte DISCOUNT = 4;
+    private static final byte EXPRESS = 5;
+    private static final byte LOYALTY = 6;
+    private static final byte SPECIAL_OCCASION = 7;
+    private static final byte OTHER_FOOD = 8;
+    private static final byte SIMPLE_ITEM = 9;
+    private static final byte ORDER_ITEM = 10;
+    private static final byte CART = 11;
+    private static final byte MEAL = 12;
+    private static final byte ORDER = 13;
+
+    // version, tag, id, order time, delivery fee, total
+    private static final int ORDER_HEADER_SIZE = 1 + 1 + 4 + 8 + 8 + 8;
+
+    private BinaryCodec() {
+    }
+
+    public static void encodeFood(Food food, ByteBuffer out) {
+        out.put(VERSION);
+        putFood(out, food);
+    }
+
+    public static Food decodeFood(ByteBuffer in) {
+        checkVersion(in);
+        return getFood(in);
+    }
+
+    public static void encodeMeal(Meal meal, ByteBuffer out) {
+        out.put(VERSION);
+        putMeal(out, meal);
+    }
+
+    public static Meal decodeMeal(ByteBuffer in) {
+        checkVersion(in);
+        return getMeal(in);
+    }
+
+    public static void encodeComponent(MenuComponent component, ByteBuffer out) {
+        out.put(VERSION);
+        putComponent(out, component);
+    }
+
+    public static MenuComponent decodeComponent(ByteBuffer in) {
+        checkVersion(in);
+        return getComponent(in);
+    }
+
+    public static void encodeOrder(OrderManager.Order order, ByteBuffer out) {
+        out.put(VERSION);
+        out.put(ORDER);
+        out.putInt(order.getId());
+        out.putLong(order.getOrderTime().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        out.putLong(order.getDeliveryFeeCents());
+        out.putLong(order.getTotalCents());
+        putString(out, order.getCustomerName());
+        putFood(out, order.getFood());
+        putMeal(out, order.getMeal());
+    }
+
+    public static OrderManager.Order decodeOrder(ByteBuffer in) {
+        checkVersion(in);
+        expect(in, ORDER);
+        int id = in.getInt();
+        LocalDateTime orderTime = LocalDateTime.ofInstant(Instant.ofEpochMilli(in.getLong()), ZoneId.systemDefault());
+        long deliveryFeeCents = in.getLong();
+        long totalCents = in.getLong();
+        String customerName = getString(in);
+        Food food = getFood(in);
+        Meal meal = getMeal(in);
+        return new OrderManager.Order(id, customerName, food, meal, orderTime, deliveryFeeCents, totalCents);
+    }
+
+    // Reads the fixed header of an encoded order in place; the buffer is not copied
+    public static OrderView view(ByteBuffer buffer, int offset) {
+        if (buffer.get(offset) != VERSION || buffer.get(offset + 1) != ORDER) {
+            throw new IllegalArgumentException("Not an encoded order at offset " + offset);
+        }
+        return new OrderView(buffer, offset);
+    }
+
+    public static final class OrderView {
+        private final ByteBuffer buffer;
+        private final int offset;
+
+        private OrderView(ByteBuffer buffer, int offset) {
+            this.buffer = buffer;
+            this.offset = offset;
+        }
+
+        public int getId() {
+            return buffer.getInt(offset + 2);
+        }
+
+        public long getOrderTimeMillis() {
+            return buffer.getLong(offset + 6);
+        }
+
+        public long getDeliveryFeeCents() {
+            return buffer.getLong(offset + 14);
+        }
+
+        public long getTotalCents() {
+            return buffer.getLong(offset + 22);
+        }
+
+        // Decodes just the name
+        public String getCustomerName() {
+            return getString(buffer.duplicate().position(offset + ORDER_HEADER_SIZE));
+        }
+
+        // Decodes the whole order
+        public OrderManager.Order decode() {
+            return decodeOrder(buffer.duplicate().position(offset));
+        }
+    }
+
+    private static void putFood(ByteBuffer out, Food food) {
+        if (food == null) {
+            out.put(NULL);
+        } else if (food instanceof Pizza) {
+            out.put(PIZZA);
+            putRecipe(out, ((Pizza) food).getBasePriceCents(), ((Pizza) food).getToppings());
+        } else if (food instanceof Burger) {
+            out.put(BURGER);
+            putRecipe(out, ((Burger) food).getBasePriceCents(), ((Burger) food).getToppings());
+        } else if (food instanceof Salad) {
+            out.put(SALAD);
+            putRecipe(out, ((Salad) food).getBasePriceCents(), ((Salad) food).getToppings());
+        } else if (food instanceof DiscountCouponDecorator) {
+            out.put(DISCOUNT);
+            out.putDouble(((DiscountCouponDecorator) food).getDiscountPercentage());
+            putFood(out, ((FoodDecorator) food).getDecoratedFood());
+        } else if (food instanceof ExpressDeliveryDecorator) {
+            out.put(EXPRESS);
+            putFood(out, ((FoodDecorator) food).getDecoratedFood());
+        } else if (food instanceof LoyaltyPointsDecorator) {
+            out.put(LOYALTY);
+            putFood(out, ((FoodDecorator) food).getDecoratedFood());
+        } else if (food instanceof SpecialOccasionDecorator) {
+            out.put(SPECIAL_OCCASION);
+            putString(out, ((SpecialOccasionDecorator) food).getOccasionMessage());
+            putFood(out, ((FoodDecorator) food).getDecoratedFood());
+        } else {
+            // Anything else keeps only its name and price
+            out.put(OTHER_FOOD);
+            putString(out, food.getName());
+            putVarLong(out, food.getPriceCents());
+        }
+    }
+
+    private static Food getFood(ByteBuffer in) {
+        byte tag = in.get();
+        switch (tag) {
+            case NULL:
+                return null;
+            case PIZZA:
+                return new Pizza(getVarLong(in), getRecipe(in));
+            case BURGER:
+                return new Burger(getVarLong(in), getRecipe(in));
+            case SALAD:
+                return new Salad(getVarLong(in), getRecipe(in));
+            case DISCOUNT: {
+                double percentage = in.getDouble();
+                return new DiscountCouponDecorator(getFood(in), percentage);
+            }
+            case EXPRESS:
+                return new ExpressDeliveryDecorator(getFood(in));
+            case LOYALTY:
+                return new LoyaltyPointsDecorator(getFood(in));
+            case SPECIAL_OCCASION: {
+                String message = getString(in);
+                return new SpecialOccasionDecorator(getFood(in), message);
+            }
+            case OTHER_FOOD: {
+                String name = getString(in);
+                return new FoodSnapshot(name, getVarLong(in));
+            }
+            default:
+                throw new IllegalArgumentException("Unknown food tag " + tag);
+        }
+    }
+
+    // Base price and the catalog version the toppings were built with, then per ingredient: id + 1
+    // (0 for anything that is not that catalog's own instance), price and name
+    private static void putRecipe(ByteBuffer out, long basePriceCents, Toppings toppings) {
+        PriceList catalog = toppings.getCatalog();
+        putVarLong(out, basePriceCents);
+        putVarLong(out, catalog.getVersion());
+        putVarLong(out, toppings.size());
+        for (Ingredient ingredient : toppings) {
+            boolean listed = ingredient.getId() != Ingredient.NO_ID && catalog.getIngredient(ingredient.getId()) == ingredient;
+            putVarLong(out, listed ? ingredient.getId() + 1L : 0);
+            putVarLong(out, ingredient.getPriceCents());
+            putString(out, ingredient.getName());
+        }
+    }
+
+    // Against the catalog version the recipe was written with, ids map straight to its instances.
+    // Otherwise the stored name and price are looked up in the current catalog, and an ingredient it no
+    // longer has (or has at another price) comes back as an ad-hoc one.
+    private static List<Ingredient> getRecipe(ByteBuffer in) {
+        PriceList catalog = PriceList.current();
+        boolean sameCatalog = getVarLong(in) == catalog.getVersion();
+        int count = (int) getVarLong(in);
+        List<Ingredient> ingredients = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int id = (int) getVarLong(in) - 1;
+            long priceCents = getVarLong(in);
+            Ingredient known = sameCatalog && id != Ingredient.NO_ID ? catalog.getIngredient(id) : null;
+            if (known != null && known.getPriceCents() == priceCents) {
+                skipString(in);
+                ingredients.add(known);
+            } else {
+                ingredients.add(Ingredient.of(getString(in), Money.toDollars(priceCents), catalog));
+            }
+        }
+        return ingredients;
+    }
+
+    private static void putMeal(ByteBuffer out, Meal meal) {
+        if (meal == null) {
+            out.put(NULL);
+            return;
+        }
+        out.put(MEAL);
+        putString(out, meal.getMainDish());
+        putString(out, meal.getSideDish());
+        putString(out, meal.getDrink());
+        putString(out, meal.getDessert());
+    }
+
+    private static Meal getMeal(ByteBuffer in) {
+        byte tag = in.get();
+        if (tag == NULL) {
+            return null;
+        }
+        if (tag != MEAL) {
+            throw new IllegalArgumentException("Unknown meal tag " + tag);
+        }
+        return new Meal(getString(in), getString(in), getString(in), getString(in));
+    }
+
+    private static void putComponent(ByteBuffer out, MenuComponent component) {
+        if (component instanceof composite.Order) {
+            composite.Order cart = (composite.Order) component;
+            out.put(CART);
+            putVarLong(out, cart.getOrderId());
+            putString(out, cart.getCustomerName());
+            putChildren(out, cart.getItems());
+        } else if (component instanceof OrderItem) {
+            out.put(ORDER_ITEM);
+            putString(out, component.getName());
+            putChildren(out, ((OrderItem) component).getItems());
+        } else if (component instanceof Food) {
+            putFood(out, (Food) component);
+        } else if (component == null) {
+            out.put(NULL);
+        } else {
+            // SimpleItem, and any other leaf as a name and price
+            out.put(SIMPLE_ITEM);
+            putString(out, component.getName());
+            putVarLong(out, component.getPriceCents());
+        }
+    }
+
+    private static MenuComponent getComponent(ByteBuffer in) {
+        byte tag = in.get(in.position());
+        switch (tag) {
+            case CART: {
+                in.get();
+                int orderId = (int) getVarLong(in);
+                composite.Order cart = new composite.Order(orderId, getString(in));
+                getChildren(in, cart);
+                return cart;
+            }
+            case ORDER_ITEM: {
+                in.get();
+                OrderItem item = new OrderItem(getString(in));
+                getChildren(in, item);
+                return item;
+            }
+            case SIMPLE_ITEM: {
+                in.get();
+                String name = getString(in);
+                return SimpleItem.ofCents(name, getVarLong(in));
+            }
+            case PIZZA:
+            case BURGER:
+            case SALAD:
+                return (MenuComponent) getFood(in);
+            case DISCOUNT:
+            case EXPRESS:
+            case LOYALTY:
+            case SPECIAL_OCCASION:
+            case OTHER_FOOD: {
+                // A food that was also a menu component but not one of ours; it comes back as a leaf
+                Food food = getFood(in);
+                return food instanceof MenuComponent ? (MenuComponent) food
+                        : SimpleItem.ofCents(food.getName(), food.getPriceCents());
+            }
+            case NULL:
+                in.get();
+                return null;
+            default:
+                throw new IllegalArgumentException("Unknown menu component tag " + tag);
+        }
+    }
+
+    private static void putChildren(ByteBuffer out, List<MenuComponent> children) {
+        putVarLong(out, children.size());
+        for (int i = 0; i < children.size(); i++) {
+            putComponent(out, children.get(i));
+        }
+    }
+
+    private static void getChildren(ByteBuffer in, MenuComponent parent) {
+        int count = (int) getVarLong(in);
+        for (int i = 0; i < count; i++) {
+            parent.add(getComponent(in));
+        }
+    }
+
+    private static void checkVersion(ByteBuffer in) {
+        byte version = in.get();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported codec version " + version);
+        }
+    }
+
+    private static void expect(ByteBuffer in, byte tag) {
+        byte actual = in.get();
+        if (actual != tag) {
+            throw new IllegalArgumentException("Expected tag " + tag + " but found " + actual);
+        }
+    }
+
+    // Unsigned LEB128: 7 bits per byte, high bit set on all but the last
+    private static void putVarLong(ByteBuffer out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    private static long getVarLong(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    // Length + 1 (0 means null), then the UTF-8 bytes encoded char by char
+    private static void putString(ByteBuffer out, String value) {
+        if (value == null) {
+            out.put((byte) 0);
+            return;
+        }
+        putVarLong(out, utf8Length(value) + 1L);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                out.put((byte) c);
+            } else if (c < 0x800) {
+                out.put((byte) (0xC0 | (c >> 6)));
+                out.put((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                out.put((byte) (0xF0 | (codePoint >> 18)));
+                out.put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                out.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                out.put((byte) (0x80 | (codePoint & 0x3F)));
+            } else {
+                out.put((byte) (0xE0 | (c >> 12)));
+                out.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                out.put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+    }
+
+    private static int utf8Length(String value) {
+        int length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                length += 1;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    private static void skipString(ByteBuffer in) {
+        int length = (int) getVarLong(in) - 1;
+        if (length > 0) {
+            in.position(in.position() + length);
+        }
+    }
+
+    // Heap buffers are decoded straight from their backing array
+    private static String getString(ByteBuffer in) {
+        int length = (int) getVarLong(in) - 1;
+        if (length < 0) {
+            return null;
+        }
+        String value;
+        if (in.hasArray()) {
+            value = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+            in.position(in.position() + length);
+        } else {
+            byte[] bytes = new byte[length];
+            in.get(bytes);
+            value = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return value;
+    }
+}
@@ -1,10 +1,16 @@
 package composite;
 
+import models.Money;
+
 public interface MenuComponent {
     String getName();
-    double getPrice();
+    long getPriceCents();
     void display(int level);
 
+    default double getPrice() {
+        return Money.toDollars(getPriceCents());
+    }
+
     // Optional - only composites implement these
     default void add(MenuComponent component) {
         throw new UnsupportedOperationException("Cannot add to a leaf node");
@@ -13,4 +19,14 @@ public interface MenuComponent {
     default void remove(MenuComponent component) {
         throw new UnsupportedOperationException("Cannot remove from a leaf node");
     }
+
+    // Composites cache their subtotal. A node that can change price keeps a link to the composite it
+    // was added to and calls invalidate() on it, which clears the cached totals up to the root.
+    // Such a node belongs to one composite at a time: setParent throws IllegalStateException when it
+    // already has one, so remove it first or add a copy. Leaves whose price never changes can ignore both.
+    default void setParent(MenuComponent parent) {
+    }
+
+    default void invalidate() {
+    }
 }
@@ -1,12 +1,16 @@
 package composite;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 public class Order implements MenuComponent {
     private int orderId;
     private String customerName;
     private List<MenuComponent> items = new ArrayList<>();
+    private MenuComponent parent;
+    private long cachedPriceCents;
+    private boolean dirty = true;
 
     public Order(int orderId, String customerName) {
         this.orderId = orderId;
@@ -15,50 +19,75 @@ public class Order implements MenuComponent {
 
     @Override
     public void add(MenuComponent component) {
+        component.setParent(this);  // throws if it already belongs to a composite, before anything changes
         items.add(component);
+        invalidate();
     }
 
     @Override
     public void remove(MenuComponent component) {
-        items.remove(component);
+        for (int i = 0; i < items.size(); i++) {
+            if (items.get(i) == component) {
+                items.remove(i);
+                component.setParent(null);
+                invalidate();
+                return;
+            }
+        }
     }
 
     @Override
-    public String getName() {
-        return "Order #" + orderId;
+    public void setParent(MenuComponent parent) {
+        if (parent != null && this.parent != null) {
+            throw new IllegalStateException(getName() + " is already part of " + this.parent.getName());
+        }
+        this.parent = parent;
     }
 
+    // A dirty node's ancestors are already dirty, so propagation stops at the first one
     @Override
-    public double getPrice() {
-        return items.stream()
-                .mapToDouble(MenuComponent::getPrice)
-                .sum();
+    public void invalidate() {
+        if (!dirty) {
+            dirty = true;
+            if (parent != null) {
+                parent.invalidate();
+            }
+        }
     }
 
     @Override
-    public void display(int level) {
-        System.out.println("\n" + "=".repeat(60));
-        System.out.println("ORDER #" + orderId + " - " + customerName);
-        System.out.println("=".repeat(60));
+    public String getName() {
+        return "Order #" + orderId;
+    }
 
-        if (items.isEmpty()) {
-            System.out.println("  (Cart is empty)");
-        } else {
-            for (MenuComponent item : items) {
-                item.display(1);
+    @Override
+    public long getPriceCents() {
+        if (dirty) {
+            long total = 0;
+            for (int i = 0; i < items.size(); i++) {
+                total += items.get(i).getPriceCents();
             }
+            cachedPriceCents = total;
+            dirty = false;
         }
+        return cachedPriceCents;
+    }
 
-        System.out.println("\n" + "-".repeat(60));
-        System.out.printf("TOTAL: $%.2f%n", getPrice());
-        System.out.println("=".repeat(60));
+    @Override
+    public void display(int level) {
+        ReceiptRenderer.display(this, level);
     }
 
     public int getOrderId() {
         return orderId;
     }
 
+    public String getCustomerName() {
+        return customerName;
+    }
+
+    // Read-only; use add/remove so the cached total stays right
     public List<MenuComponent> getItems() {
-        return items;
+        return Collections.unmodifiableList(items);
     }
 }
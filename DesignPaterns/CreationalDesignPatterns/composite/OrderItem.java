@@ -1,11 +1,15 @@
 package composite;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 public class OrderItem implements MenuComponent {
     private String name;
     private List<MenuComponent> items = new ArrayList<>();
+    private MenuComponent parent;
+    private long cachedPriceCents;
+    private boolean dirty = true;
 
     public OrderItem(String name) {
         this.name = name;
@@ -13,12 +17,40 @@ public class OrderItem implements MenuComponent {
 
     @Override
     public void add(MenuComponent component) {
+        component.setParent(this);  // throws if it already belongs to a composite, before anything changes
         items.add(component);
+        invalidate();
     }
 
     @Override
     public void remove(MenuComponent component) {
-        items.remove(component);
+        for (int i = 0; i < items.size(); i++) {
+            if (items.get(i) == component) {
+                items.remove(i);
+                component.setParent(null);
+                invalidate();
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void setParent(MenuComponent parent) {
+        if (parent != null && this.parent != null) {
+            throw new IllegalStateException(getName() + " is already part of " + this.parent.getName());
+        }
+        this.parent = parent;
+    }
+
+    // A dirty node's ancestors are already dirty, so propagation stops at the first one
+    @Override
+    public void invalidate() {
+        if (!dirty) {
+            dirty = true;
+            if (parent != null) {
+                parent.invalidate();
+            }
+        }
     }
 
     @Override
@@ -27,18 +59,25 @@ public class OrderItem implements MenuComponent {
     }
 
     @Override
-    public double getPrice() {
-        return items.stream()
-                .mapToDouble(MenuComponent::getPrice)
-                .sum();
+    public long getPriceCents() {
+        if (dirty) {
+            long total = 0;
+            for (int i = 0; i < items.size(); i++) {
+                total += items.get(i).getPriceCents();
+            }
+            cachedPriceCents = total;
+            dirty = false;
+        }
+        return cachedPriceCents;
     }
 
     @Override
     public void display(int level) {
-        String indent = "  ".repeat(level);
-        System.out.printf("%s package %s - $%.2f%n", indent, name, getPrice());
-        for (MenuComponent item : items) {
-            item.display(level + 1);
-        }
+        ReceiptRenderer.display(this, level);
+    }
+
+    // Read-only; use add/remove so the cached total stays right
+    public List<MenuComponent> getItems() {
+        return Collections.unmodifiableList(items);
     }
 }
@@ -0,0 +1,268 @@
+package composite;
+
+import models.*;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+// Renders a MenuComponent tree - a whole cart, a combo or a single item - in one walk.
+//
+// Every kind of line is a template compiled once into literal pieces and fields, and lines are appended
+// to a reusable StringBuilder that is flushed to the target only when it fills up and once at the end:
+// no String.format, no per-line string building and one stdout write per receipt instead of one per
+// line. The display() methods of the menu classes all come through here.
+//
+// A renderer keeps its buffer between calls, so it must not be shared between threads; display() uses
+// one per thread.
+public final class ReceiptRenderer {
+    private static final int FLUSH_AT = 8 * 1024;
+    private static final String DOUBLE_RULE = "=".repeat(60);
+    private static final String RULE = "-".repeat(60);
+
+    private static final ThreadLocal<ReceiptRenderer> DISPLAY = ThreadLocal.withInitial(ReceiptRenderer::receipt);
+
+    // The templates for one output style
+    private static final class Layout {
+        final Template header;
+        final Template empty;
+        final Template food;
+        final Template ingredient;
+        final Template combo;
+        final Template item;
+        final Template footer;
+
+        Layout(String header, String empty, String food, String ingredient, String combo, String item, String footer) {
+            this.header = Template.compile(header);
+            this.empty = Template.compile(empty);
+            this.food = Template.compile(food);
+            this.ingredient = Template.compile(ingredient);
+            this.combo = Template.compile(combo);
+            this.item = Template.compile(item);
+            this.footer = Template.compile(footer);
+        }
+    }
+
+    // Customer receipt - the same text the display() methods have always printed
+    private static final Layout RECEIPT = new Layout(
+            "\n" + DOUBLE_RULE + "\nORDER #{number} - {name}\n" + DOUBLE_RULE + "\n",
+            "  (Cart is empty)\n",
+            "{indent}└─ {type} {name} - ${price}\n",
+            "{indent}   ├─ {name} (+${price})\n",
+            "{indent} package {name} - ${price}\n",
+            "{indent}└─ {name} - ${price}\n",
+            "\n" + RULE + "\nTOTAL: ${price}\n" + DOUBLE_RULE + "\n");
+
+    // Kitchen ticket - what to make, no prices
+    private static final Layout KITCHEN_TICKET = new Layout(
+            "KITCHEN TICKET - ORDER #{number}\nFor: {name}\n" + RULE + "\n",
+            "  (nothing to prepare)\n",
+            "{indent}[ ] {type}: {name}\n",
+            "{indent}      + {name}\n",
+            "{indent}{name}:\n",
+            "{indent}[ ] {name}\n",
+            RULE + "\n");
+
+    private final Layout layout;
+    private final StringBuilder buffer = new StringBuilder(FLUSH_AT + 256);
+    private char[] chars = new char[0];
+    private Writer target;  // null means System.out
+
+    private ReceiptRenderer(Layout layout) {
+        this.layout = layout;
+    }
+
+    public static ReceiptRenderer receipt() {
+        return new ReceiptRenderer(RECEIPT);
+    }
+
+    public static ReceiptRenderer kitchenTicket() {
+        return new ReceiptRenderer(KITCHEN_TICKET);
+    }
+
+    // Print a component's receipt to System.out (what display(level) does)
+    public static void display(MenuComponent component, int level) {
+        DISPLAY.get().print(component, level);
+    }
+
+    public void print(MenuComponent component, int level) {
+        render(component, level, null);
+    }
+
+    public void render(MenuComponent component, int level, Writer out) {
+        Writer previous = target;
+        target = out;
+        try {
+            walk(component, level);
+            flush();
+        } finally {
+            target = previous;
+        }
+    }
+
+    // Everything goes to the returned String, however big the receipt - nothing reaches System.out
+    public String renderToString(MenuComponent component, int level) {
+        StringWriter out = new StringWriter();
+        render(component, level, out);
+        return out.toString();
+    }
+
+    private void walk(MenuComponent component, int level) {
+        if (component instanceof Order) {
+            Order order = (Order) component;
+            layout.header.apply(buffer, level, order.getCustomerName(), null, order.getOrderId());
+            List<MenuComponent> items = order.getItems();
+            if (items.isEmpty()) {
+                layout.empty.apply(buffer, level, null, null, 0);
+            }
+            for (int i = 0; i < items.size(); i++) {
+                walk(items.get(i), 1);
+            }
+            layout.footer.apply(buffer, level, null, null, order.getPriceCents());
+        } else if (component instanceof OrderItem) {
+            layout.combo.apply(buffer, level, component.getName(), null, component.getPriceCents());
+            List<MenuComponent> items = ((OrderItem) component).getItems();
+            for (int i = 0; i < items.size(); i++) {
+                walk(items.get(i), level + 1);
+            }
+        } else if (component instanceof Pizza) {
+            food(level, "pizza", component, ((Pizza) component).getIngredients());
+        } else if (component instanceof Burger) {
+            food(level, "burger", component, ((Burger) component).getIngredients());
+        } else if (component instanceof Salad) {
+            food(level, "salad", component, ((Salad) component).getIngredients());
+        } else if (component instanceof SimpleItem) {
+            layout.item.apply(buffer, level, component.getName(), null, component.getPriceCents());
+        } else if (target == null) {
+            // Some other component: let it print itself, after everything rendered so far
+            flush();
+            component.display(level);
+        } else {
+            // display() could only print to System.out, so write it as a plain item line instead
+            layout.item.apply(buffer, level, component.getName(), null, component.getPriceCents());
+        }
+        if (buffer.length() >= FLUSH_AT) {
+            flush();
+        }
+    }
+
+    private void food(int level, String type, MenuComponent food, List<Ingredient> ingredients) {
+        layout.food.apply(buffer, level, food.getName(), type, food.getPriceCents());
+        for (int i = 0; i < ingredients.size(); i++) {
+            Ingredient ingredient = ingredients.get(i);
+            layout.ingredient.apply(buffer, level, ingredient.getName(), null, ingredient.getPriceCents());
+        }
+    }
+
+    private void flush() {
+        if (buffer.length() == 0) {
+            return;
+        }
+        if (target == null) {
+            System.out.print(buffer);
+        } else {
+            int length = buffer.length();
+            if (chars.length < length) {
+                chars = new char[Math.max(length, FLUSH_AT + 256)];
+            }
+            buffer.getChars(0, length, chars, 0);
+            try {
+                target.write(chars, 0, length);
+                target.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        buffer.setLength(0);
+    }
+
+    // A line pattern split once into literal text and fields:
+    // {indent} (two spaces per level), {name}, {type}, {price} (cents as dollars) and {number}
+    private static final class Template {
+        private static final int LITERAL = 0;
+        private static final int INDENT = 1;
+        private static final int NAME = 2;
+        private static final int TYPE = 3;
+        private static final int PRICE = 4;
+        private static final int NUMBER = 5;
+
+        private final int[] kinds;
+        private final String[] literals;
+
+        private Template(int[] kinds, String[] literals) {
+            this.kinds = kinds;
+            this.literals = literals;
+        }
+
+        static Template compile(String pattern) {
+            List<Integer> kinds = new ArrayList<>();
+            List<String> literals = new ArrayList<>();
+            int pos = 0;
+            while (pos < pattern.length()) {
+                int open = pattern.indexOf('{', pos);
+                if (open < 0) {
+                    open = pattern.length();
+                }
+                if (open > pos) {
+                    kinds.add(LITERAL);
+                    literals.add(pattern.substring(pos, open));
+                }
+                if (open == pattern.length()) {
+                    break;
+                }
+                int close = pattern.indexOf('}', open);
+                if (close < 0) {
+                    throw new IllegalArgumentException("Unclosed field in template: " + pattern);
+                }
+                kinds.add(field(pattern.substring(open + 1, close)));
+                literals.add(null);
+                pos = close + 1;
+            }
+            int[] kindArray = new int[kinds.size()];
+            for (int i = 0; i < kindArray.length; i++) {
+                kindArray[i] = kinds.get(i);
+            }
+            return new Template(kindArray, literals.toArray(new String[0]));
+        }
+
+        private static int field(String name) {
+            switch (name) {
+                case "indent": return INDENT;
+                case "name": return NAME;
+                case "type": return TYPE;
+                case "price": return PRICE;
+                case "number": return NUMBER;
+                default: throw new IllegalArgumentException("Unknown template field: {" + name + "}");
+            }
+        }
+
+        void apply(StringBuilder out, int level, String name, String type, long value) {
+            for (int i = 0; i < kinds.length; i++) {
+                switch (kinds[i]) {
+                    case LITERAL:
+                        out.append(literals[i]);
+                        break;
+                    case INDENT:
+                        for (int j = 0; j < level; j++) {
+                            out.append("  ");
+                        }
+                        break;
+                    case NAME:
+                        out.append(name);
+                        break;
+                    case TYPE:
+                        out.append(type);
+                        break;
+                    case PRICE:
+                        Money.appendTo(out, value);
+                        break;
+                    default:
+                        out.append(value);
+                }
+            }
+        }
+    }
+}
@@ -1,12 +1,44 @@
 package composite;
 
+import models.Money;
+import models.PoolKey;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Immutable leaf (sides, drinks, desserts). Its price never changes, so it ignores parent links and
+// one instance per name and price can be shared by every order - use of()/ofCents(). The pool is bounded
+// (PoolKey.POOL_LIMIT); past it ofCents() returns unshared items.
 public class SimpleItem implements MenuComponent {
-    private String name;
-    private double price;
+    private static final Map<PoolKey, SimpleItem> POOL = new ConcurrentHashMap<>();
+
+    private final String name;
+    private final long priceCents;
 
     public SimpleItem(String name, double price) {
+        this(name, Money.ofDollars(price));
+    }
+
+    private SimpleItem(String name, long priceCents) {
         this.name = name;
-        this.price = price;
+        this.priceCents = priceCents;
+    }
+
+    // Shared instance for this name and price
+    public static SimpleItem of(String name, double price) {
+        return ofCents(name, Money.ofDollars(price));
+    }
+
+    public static SimpleItem ofCents(String name, long priceCents) {
+        PoolKey key = new PoolKey(name, priceCents);
+        SimpleItem pooled = POOL.get(key);
+        if (pooled != null) {
+            return pooled;
+        }
+        if (POOL.size() >= PoolKey.POOL_LIMIT) {
+            return new SimpleItem(name, priceCents);
+        }
+        return POOL.computeIfAbsent(key, k -> new SimpleItem(name, priceCents));
     }
 
     @Override
@@ -15,13 +47,12 @@ public class SimpleItem implements MenuComponent {
     }
 
     @Override
-    public double getPrice() {
-        return price;
+    public long getPriceCents() {
+        return priceCents;
     }
 
     @Override
     public void display(int level) {
-        String indent = "  ".repeat(level);
-        System.out.printf("%s└─ %s - $%.2f%n", indent, name, price);
+        ReceiptRenderer.display(this, level);
     }
 }
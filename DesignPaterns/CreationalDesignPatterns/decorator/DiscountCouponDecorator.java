@@ -1,6 +1,7 @@
 package decorator;
 
 import models.Food;
+import models.Money;
 
 // Concrete Decorator - applies percentage discount
 public class DiscountCouponDecorator extends FoodDecorator {
@@ -17,10 +18,9 @@ public class DiscountCouponDecorator extends FoodDecorator {
     }
 
     @Override
-    public double getPrice() {
-        double originalPrice = decoratedFood.getPrice();
-        double discount = originalPrice * (discountPercentage / 100.0);
-        return originalPrice - discount;
+    public long getPriceCents() {
+        long originalPrice = decoratedFood.getPriceCents();
+        return originalPrice - Money.percentOf(originalPrice, discountPercentage);
     }
 
     @Override
@@ -30,6 +30,10 @@ public class DiscountCouponDecorator extends FoodDecorator {
     }
 
     public double getSavedAmount() {
-        return decoratedFood.getPrice() * (discountPercentage / 100.0);
+        return Money.toDollars(Money.percentOf(decoratedFood.getPriceCents(), discountPercentage));
+    }
+
+    public double getDiscountPercentage() {
+        return discountPercentage;
     }
 }
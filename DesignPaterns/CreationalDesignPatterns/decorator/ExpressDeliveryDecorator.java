@@ -4,7 +4,7 @@ import models.Food;
 
 // Concrete Decorator - adds express delivery functionality
 public class ExpressDeliveryDecorator extends FoodDecorator {
-    private static final double EXPRESS_FEE = 5.00;
+    private static final long EXPRESS_FEE_CENTS = 500;
 
     public ExpressDeliveryDecorator(Food food) {
         super(food);
@@ -16,8 +16,8 @@ public class ExpressDeliveryDecorator extends FoodDecorator {
     }
 
     @Override
-    public double getPrice() {
-        return decoratedFood.getPrice() + EXPRESS_FEE;
+    public long getPriceCents() {
+        return decoratedFood.getPriceCents() + EXPRESS_FEE_CENTS;
     }
 
     @Override
@@ -21,7 +21,11 @@ public abstract class FoodDecorator implements Food {
     }
 
     @Override
-    public double getPrice() {
-        return decoratedFood.getPrice();
+    public long getPriceCents() {
+        return decoratedFood.getPriceCents();
+    }
+
+    public Food getDecoratedFood() {
+        return decoratedFood;
     }
 }
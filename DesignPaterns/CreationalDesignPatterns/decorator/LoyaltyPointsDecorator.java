@@ -8,7 +8,7 @@ public class LoyaltyPointsDecorator extends FoodDecorator {
 
     public LoyaltyPointsDecorator(Food food) {
         super(food);
-        this.bonusPoints = (int)(food.getPrice() * 10); // 10 points per dollar
+        this.bonusPoints = (int)(food.getPriceCents() / 10); // 10 points per dollar
     }
 
     @Override
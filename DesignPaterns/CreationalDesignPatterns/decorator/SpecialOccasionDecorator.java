@@ -5,7 +5,7 @@ import models.Food;
 // Concrete Decorator - adds special occasion message
 public class SpecialOccasionDecorator extends FoodDecorator {
     private String occasionMessage;
-    private static final double MESSAGE_CARD_FEE = 1.50;
+    private static final long MESSAGE_CARD_FEE_CENTS = 150;
 
     public SpecialOccasionDecorator(Food food, String occasionMessage) {
         super(food);
@@ -18,8 +18,8 @@ public class SpecialOccasionDecorator extends FoodDecorator {
     }
 
     @Override
-    public double getPrice() {
-        return decoratedFood.getPrice() + MESSAGE_CARD_FEE;
+    public long getPriceCents() {
+        return decoratedFood.getPriceCents() + MESSAGE_CARD_FEE_CENTS;
     }
 
     @Override
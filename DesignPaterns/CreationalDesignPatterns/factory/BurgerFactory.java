@@ -10,4 +10,9 @@ public class BurgerFactory extends FoodFactory {
     public Food createFood() {
         return new Burger();
     }
+
+    @Override
+    public String getFoodType() {
+        return "burger";
+    }
 }
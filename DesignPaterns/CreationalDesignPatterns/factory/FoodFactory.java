@@ -8,10 +8,11 @@ public abstract class FoodFactory {
     // Factory Method - abstract, to be implemented by subclasses
     public abstract Food createFood();
 
-    // Template method that uses the factory method
+    // Lower-case key this factory is registered under (e.g. "pizza")
+    public abstract String getFoodType();
+
+    // Template method that uses the factory method; nothing is printed, the client decides what to show
     public Food orderFood() {
-        Food food = createFood();  // Call factory method
-        System.out.println("✓ " + food.getName() + " created by factory");
-        return food;
+        return createFood();  // Call factory method
     }
 }
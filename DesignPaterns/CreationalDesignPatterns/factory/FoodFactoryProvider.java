@@ -1,5 +1,9 @@
 package factory;
 
+import models.Money;
+
+import java.util.List;
+
 // This is a helper class to select which concrete factory to use
 public class FoodFactoryProvider {
 
@@ -8,23 +12,20 @@ public class FoodFactoryProvider {
             throw new IllegalArgumentException("Food type cannot be null or empty");
         }
 
-        switch (type.toLowerCase()) {
-            case "pizza":
-                return new PizzaFactory();
-            case "burger":
-                return new BurgerFactory();
-            case "salad":
-                return new SaladFactory();
-            default:
-                throw new IllegalArgumentException("Unknown food type: " + type);
+        FoodFactory factory = FoodFactoryRegistry.get(type);
+        if (factory == null) {
+            throw new IllegalArgumentException("Unknown food type: " + type);
         }
+        return factory;
     }
 
     public static void displayMenu() {
         System.out.println("\n===== MENU =====");
-        System.out.println("1. Pizza - $8.99");
-        System.out.println("2. Burger - $6.50");
-        System.out.println("3. Salad - $5.75");
+        List<MenuCatalog.Entry> entries = MenuCatalog.current().getMainMenu();
+        for (int i = 0; i < entries.size(); i++) {
+            MenuCatalog.Entry entry = entries.get(i);
+            System.out.println((i + 1) + ". " + entry.getName() + " - $" + Money.format(entry.getPriceCents()));
+        }
         System.out.println("================\n");
     }
 }
@@ -0,0 +1,77 @@
+package factory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+// Registry of the food factories, built once on first use.
+// Factories are stateless, so one cached instance per food type is shared by every caller.
+// New food types plug in through ServiceLoader (META-INF/services/factory.FoodFactory);
+// the built-in pizza, burger and salad factories are always present.
+// Lookups allocate nothing: an exact key hit is one HashMap probe, and other casings fall back to
+// equalsIgnoreCase over the (small) list instead of building a lower-cased copy of the key.
+public final class FoodFactoryRegistry {
+
+    private static final class Holder {
+        private static final FoodFactory[] FACTORIES;
+        private static final Map<String, Integer> ORDINALS = new HashMap<>();
+
+        static {
+            List<FoodFactory> found = new ArrayList<>();
+            for (FoodFactory factory : ServiceLoader.load(FoodFactory.class)) {
+                register(found, factory);
+            }
+            register(found, new PizzaFactory());
+            register(found, new BurgerFactory());
+            register(found, new SaladFactory());
+            FACTORIES = found.toArray(new FoodFactory[0]);
+        }
+
+        private static void register(List<FoodFactory> found, FoodFactory factory) {
+            if (!ORDINALS.containsKey(factory.getFoodType())) {
+                ORDINALS.put(factory.getFoodType(), found.size());
+                found.add(factory);
+            }
+        }
+    }
+
+    private FoodFactoryRegistry() {
+    }
+
+    // Factory for a food type (any casing), or null if nothing is registered under it
+    public static FoodFactory get(String foodType) {
+        int ordinal = ordinalOf(foodType);
+        return ordinal >= 0 ? Holder.FACTORIES[ordinal] : null;
+    }
+
+    // Factory by its ordinal - the cheapest lookup when the caller already holds one
+    public static FoodFactory get(int ordinal) {
+        return Holder.FACTORIES[ordinal];
+    }
+
+    // Stable position of a food type in this registry, or -1 if unknown
+    public static int ordinalOf(String foodType) {
+        if (foodType == null) {
+            return -1;
+        }
+        Integer ordinal = Holder.ORDINALS.get(foodType);
+        if (ordinal != null) {
+            return ordinal;
+        }
+        FoodFactory[] factories = Holder.FACTORIES;
+        for (int i = 0; i < factories.length; i++) {
+            if (factories[i].getFoodType().equalsIgnoreCase(foodType)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public static List<FoodFactory> all() {
+        return Collections.unmodifiableList(Arrays.asList(Holder.FACTORIES));
+    }
+}
@@ -0,0 +1,413 @@
+package factory;
+
+import models.Ingredient;
+import models.PriceList;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Everything on the menu that has a price: ingredients (with their stable ids), the base price of each
+// food type, the main menu, sides, drinks and desserts. It is read from a catalog file (see
+// menu-catalog.txt for the format) instead of living in code.
+//
+// A MenuCatalog never changes once loaded. A new version is swapped in with install()/reload(); foods
+// keep a reference to the catalog they were created with, so orders already being built keep the
+// prices they started with while new ones pick up the new version.
+public final class MenuCatalog implements PriceList {
+    public static final String RESOURCE = "menu-catalog.txt";
+    public static final String PATH_PROPERTY = "menu.catalog";
+
+    private static final AtomicReference<MenuCatalog> CURRENT = new AtomicReference<>();
+    private static final List<Listener> LISTENERS = new CopyOnWriteArrayList<>();
+
+    // Called after a new catalog version has been installed
+    public interface Listener {
+        void catalogChanged(MenuCatalog previous, MenuCatalog current);
+    }
+
+    // One priced line on the menu (a main menu entry, side, drink or dessert)
+    public static final class Entry {
+        private final String foodType;
+        private final String name;
+        private final long priceCents;
+
+        Entry(String foodType, String name, long priceCents) {
+            this.foodType = foodType;
+            this.name = name;
+            this.priceCents = priceCents;
+        }
+
+        // Food type for main menu entries, null otherwise
+        public String getFoodType() {
+            return foodType;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getPriceCents() {
+            return priceCents;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Entry)) {
+                return false;
+            }
+            Entry other = (Entry) o;
+            return priceCents == other.priceCents && name.equals(other.name) && Objects.equals(foodType, other.foodType);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(foodType, name, priceCents);
+        }
+    }
+
+    private final long version;
+    private final Ingredient[] ingredients;  // indexed by id, null where an id is unused
+    private final Map<String, Ingredient> byName;
+    private final Map<String, List<Ingredient>> byType;
+    private final Map<String, Long> basePrices;
+    private final List<Entry> mainMenu;
+    private final List<Entry> sides;
+    private final List<Entry> drinks;
+    private final List<Entry> desserts;
+
+    private MenuCatalog(Parser parser) {
+        this.version = parser.version;
+        this.ingredients = Arrays.copyOf(parser.ingredients, parser.ingredientCount);
+        this.byName = parser.byName;
+        Map<String, List<Ingredient>> types = new HashMap<>();
+        for (Map.Entry<String, List<Ingredient>> group : parser.byType.entrySet()) {
+            types.put(group.getKey(), Collections.unmodifiableList(group.getValue()));
+        }
+        this.byType = types;
+        this.basePrices = parser.basePrices;
+        this.mainMenu = Collections.unmodifiableList(parser.mainMenu);
+        this.sides = Collections.unmodifiableList(parser.sides);
+        this.drinks = Collections.unmodifiableList(parser.drinks);
+        this.desserts = Collections.unmodifiableList(parser.desserts);
+    }
+
+    // The catalog new foods are priced with; loaded on first use from -Dmenu.catalog or the bundled resource
+    public static MenuCatalog current() {
+        MenuCatalog catalog = CURRENT.get();
+        if (catalog == null) {
+            CURRENT.compareAndSet(null, loadDefault());
+            catalog = CURRENT.get();
+        }
+        return catalog;
+    }
+
+    // Atomically make this the current catalog; returns the one it replaced
+    public static MenuCatalog install(MenuCatalog catalog) {
+        MenuCatalog previous = CURRENT.getAndSet(catalog);
+        for (Listener listener : LISTENERS) {
+            listener.catalogChanged(previous, catalog);
+        }
+        return previous;
+    }
+
+    public static MenuCatalog reload(Path file) throws IOException {
+        MenuCatalog catalog = load(file);
+        install(catalog);
+        return catalog;
+    }
+
+    public static void addListener(Listener listener) {
+        LISTENERS.add(listener);
+    }
+
+    public static void removeListener(Listener listener) {
+        LISTENERS.remove(listener);
+    }
+
+    // Parse a catalog file straight out of a read-only mapping of it
+    public static MenuCatalog load(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return parse(buffer, file.toString());
+        }
+    }
+
+    // Parse the catalog bundled next to this class. It is mapped like load() when it sits in a directory on
+    // the class path; inside a jar it cannot be mapped, so it is read into a heap buffer instead.
+    public static MenuCatalog loadResource() throws IOException {
+        URL url = MenuCatalog.class.getResource(RESOURCE);
+        if (url == null) {
+            throw new IOException("Menu catalog resource not found: " + RESOURCE);
+        }
+        if ("file".equals(url.getProtocol())) {
+            try {
+                return load(Path.of(url.toURI()));
+            } catch (URISyntaxException e) {
+                throw new IOException("Bad menu catalog location: " + url, e);
+            }
+        }
+        try (InputStream in = url.openStream()) {
+            return parse(ByteBuffer.wrap(in.readAllBytes()), RESOURCE);
+        }
+    }
+
+    public static MenuCatalog parse(ByteBuffer buffer, String source) {
+        Parser parser = new Parser(buffer, source);
+        parser.parse();
+        return new MenuCatalog(parser);
+    }
+
+    private static MenuCatalog loadDefault() {
+        String file = System.getProperty(PATH_PROPERTY);
+        try {
+            return file != null ? load(Path.of(file)) : loadResource();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not load the menu catalog", e);
+        }
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    // Ingredient by id, or null if the id is not in this catalog
+    public Ingredient getIngredient(int id) {
+        return id >= 0 && id < ingredients.length ? ingredients[id] : null;
+    }
+
+    // Ingredient by exact name, or null
+    public Ingredient getIngredient(String name) {
+        return byName.get(name);
+    }
+
+    // One past the highest ingredient id
+    public int getIngredientCount() {
+        return ingredients.length;
+    }
+
+    // Food types that have ingredients in this catalog
+    public Set<String> getFoodTypes() {
+        return Collections.unmodifiableSet(byType.keySet());
+    }
+
+    public List<Ingredient> getIngredientsForType(String foodType) {
+        List<Ingredient> group = byType.get(foodType.toLowerCase());
+        return group != null ? group : Collections.emptyList();
+    }
+
+    public long getBasePriceCents(String foodType) {
+        Long price = basePrices.get(foodType.toLowerCase());
+        if (price == null) {
+            throw new IllegalStateException("Menu catalog v" + version + " has no base price for " + foodType);
+        }
+        return price;
+    }
+
+    public List<Entry> getMainMenu() {
+        return mainMenu;
+    }
+
+    public List<Entry> getSides() {
+        return sides;
+    }
+
+    public List<Entry> getDrinks() {
+        return drinks;
+    }
+
+    public List<Entry> getDesserts() {
+        return desserts;
+    }
+
+    // Single pass over the bytes; only names are turned into Strings
+    private static final class Parser {
+        private final ByteBuffer buffer;
+        private final String source;
+        private byte[] scratch = new byte[64];
+        private int pos;
+        private int lineEnd;
+        private int line;
+        private String lastWord;
+        private byte[] lastWordBytes;
+
+        private long version = 1;
+        private Ingredient[] ingredients = new Ingredient[64];
+        private int ingredientCount;
+        private final Map<String, Ingredient> byName = new HashMap<>();
+        private final Map<String, List<Ingredient>> byType = new HashMap<>();
+        private final Map<String, Long> basePrices = new HashMap<>();
+        private final List<Entry> mainMenu = new ArrayList<>();
+        private final List<Entry> sides = new ArrayList<>();
+        private final List<Entry> drinks = new ArrayList<>();
+        private final List<Entry> desserts = new ArrayList<>();
+
+        Parser(ByteBuffer buffer, String source) {
+            this.buffer = buffer;
+            this.source = source;
+            this.pos = buffer.position();
+        }
+
+        void parse() {
+            int end = buffer.limit();
+            while (pos < end) {
+                int eol = pos;
+                while (eol < end && buffer.get(eol) != '\n') {
+                    eol++;
+                }
+                lineEnd = eol > pos && buffer.get(eol - 1) == '\r' ? eol - 1 : eol;
+                line++;
+                if (lineEnd > pos && buffer.get(pos) != '#') {
+                    record();
+                }
+                pos = eol + 1;
+            }
+        }
+
+        private void record() {
+            byte type = buffer.get(pos++);
+            switch (type) {
+                case 'V':
+                    version = number();
+                    break;
+                case 'B':
+                    basePrices.put(word(), number());
+                    break;
+                case 'M': {
+                    String foodType = word();
+                    long price = number();
+                    mainMenu.add(new Entry(foodType, rest(), price));
+                    break;
+                }
+                case 'I':
+                    ingredient();
+                    break;
+                case 'S':
+                    sides.add(entry());
+                    break;
+                case 'D':
+                    drinks.add(entry());
+                    break;
+                case 'X':
+                    desserts.add(entry());
+                    break;
+                default:
+                    throw error("unknown record type '" + (char) type + "'");
+            }
+        }
+
+        private void ingredient() {
+            long id = number();
+            String foodType = word();
+            long price = number();
+            String name = rest();
+            if (id > Integer.MAX_VALUE - 8) {
+                throw error("ingredient id out of range: " + id);
+            }
+            int index = (int) id;
+            if (index >= ingredients.length) {
+                ingredients = Arrays.copyOf(ingredients, Math.max(index + 1, ingredients.length * 2));
+            }
+            if (ingredients[index] != null) {
+                throw error("duplicate ingredient id " + index);
+            }
+            Ingredient ingredient = Ingredient.withCents(index, name, price);
+            if (byName.put(name, ingredient) != null) {
+                throw error("duplicate ingredient " + name);
+            }
+            ingredients[index] = ingredient;
+            ingredientCount = Math.max(ingredientCount, index + 1);
+            byType.computeIfAbsent(foodType, k -> new ArrayList<>()).add(ingredient);
+        }
+
+        private Entry entry() {
+            long price = number();
+            return new Entry(null, rest(), price);
+        }
+
+        private void skipSpace() {
+            if (pos >= lineEnd || buffer.get(pos) != ' ') {
+                throw error("expected another field");
+            }
+            pos++;
+        }
+
+        private long number() {
+            skipSpace();
+            int start = pos;
+            long value = 0;
+            while (pos < lineEnd) {
+                int digit = buffer.get(pos) - '0';
+                if (digit < 0 || digit > 9) {
+                    break;
+                }
+                value = value * 10 + digit;
+                pos++;
+            }
+            if (pos == start) {
+                throw error("expected a number");
+            }
+            return value;
+        }
+
+        // Food types repeat on almost every line, so the last one seen is reused when the bytes match
+        private String word() {
+            skipSpace();
+            int start = pos;
+            while (pos < lineEnd && buffer.get(pos) != ' ') {
+                pos++;
+            }
+            int length = pos - start;
+            if (lastWord != null && length == lastWordBytes.length) {
+                int i = 0;
+                while (i < length && buffer.get(start + i) == lastWordBytes[i]) {
+                    i++;
+                }
+                if (i == length) {
+                    return lastWord;
+                }
+            }
+            lastWordBytes = new byte[length];
+            buffer.get(start, lastWordBytes);
+            lastWord = text(start, pos).toLowerCase();
+            return lastWord;
+        }
+
+        private String rest() {
+            skipSpace();
+            int start = pos;
+            pos = lineEnd;
+            return text(start, lineEnd);
+        }
+
+        private String text(int start, int end) {
+            int length = end - start;
+            if (length == 0) {
+                throw error("empty field");
+            }
+            if (length > scratch.length) {
+                scratch = new byte[Math.max(length, scratch.length * 2)];
+            }
+            buffer.get(start, scratch, 0, length);
+            return new String(scratch, 0, length, StandardCharsets.UTF_8);
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(source + ":" + line + ": " + message);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package factory;
+
+import models.PriceList;
+
+// Makes the current MenuCatalog the price list foods are built with (registered in
+// META-INF/services/models.PriceList$Source)
+public class MenuCatalogSource implements PriceList.Source {
+    @Override
+    public PriceList current() {
+        return MenuCatalog.current();
+    }
+}
@@ -0,0 +1,383 @@
+package factory;
+
+import models.Ingredient;
+import models.Money;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+// Autocomplete over everything in the menu catalog: ingredients, main menu entries, sides, drinks
+// and desserts. Names are kept in a trie (lower case, one key per word, so "chee" finds
+// "Mozzarella Cheese"); search() walks down the prefix and collects matches in alphabetical order,
+// and with typo tolerance also accepts prefixes one edit away ("peperoni", "pepperomi").
+//
+// The index follows the current MenuCatalog: when a new version is installed it is compared with the
+// version already indexed, section by section, and only the entries that were added, removed or
+// re-priced are touched. Trie nodes left without matches or children are pruned.
+public class MenuSearchIndex {
+    public static final String INGREDIENT = "ingredient";
+    public static final String MENU = "menu";
+    public static final String SIDE = "side";
+    public static final String DRINK = "drink";
+    public static final String DESSERT = "dessert";
+
+    private static final int MAX_EDITS = 1;
+
+    private static volatile MenuSearchIndex instance;
+
+    private final Node root = new Node();
+    private final Map<String, Match> entries = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private MenuCatalog indexed;  // guarded by the write lock
+
+    // One searchable catalog item
+    public static final class Match {
+        private final String kind;
+        private final String name;
+        private final String foodType;
+        private final long priceCents;
+        private final String key;
+
+        Match(String kind, String name, String foodType, long priceCents) {
+            this.kind = kind;
+            this.name = name;
+            this.foodType = foodType;
+            this.priceCents = priceCents;
+            this.key = kind + ':' + name;
+        }
+
+        // INGREDIENT, MENU, SIDE, DRINK or DESSERT
+        public String getKind() {
+            return kind;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        // Food type for ingredients and main menu entries, null otherwise
+        public String getFoodType() {
+            return foodType;
+        }
+
+        public long getPriceCents() {
+            return priceCents;
+        }
+
+        private boolean samePrice(Match other) {
+            return priceCents == other.priceCents && Objects.equals(foodType, other.foodType);
+        }
+
+        @Override
+        public String toString() {
+            return name + " (" + kind + ", $" + Money.format(priceCents) + ")";
+        }
+    }
+
+    // Children are kept sorted by character in two parallel arrays; matches grow like an ArrayList
+    private static final class Node {
+        private char[] labels = new char[0];
+        private Node[] children = new Node[0];
+        private Match[] matches = new Match[0];
+        private int matchCount;
+
+        Node child(char c) {
+            int i = Arrays.binarySearch(labels, c);
+            return i >= 0 ? children[i] : null;
+        }
+
+        Node childOrAdd(char c) {
+            int i = Arrays.binarySearch(labels, c);
+            if (i >= 0) {
+                return children[i];
+            }
+            int at = -i - 1;
+            Node node = new Node();
+            labels = insert(labels, at, c);
+            Node[] grown = new Node[children.length + 1];
+            System.arraycopy(children, 0, grown, 0, at);
+            grown[at] = node;
+            System.arraycopy(children, at, grown, at + 1, children.length - at);
+            children = grown;
+            return node;
+        }
+
+        void addMatch(Match match) {
+            if (matchCount == matches.length) {
+                matches = Arrays.copyOf(matches, Math.max(2, matchCount * 2));
+            }
+            matches[matchCount++] = match;
+        }
+
+        void removeMatch(Match match) {
+            for (int i = 0; i < matchCount; i++) {
+                if (matches[i] == match) {
+                    System.arraycopy(matches, i + 1, matches, i, matchCount - i - 1);
+                    matches[--matchCount] = null;
+                    return;
+                }
+            }
+        }
+
+        void removeChild(char c) {
+            int i = Arrays.binarySearch(labels, c);
+            if (i < 0) {
+                return;
+            }
+            char[] shrunkLabels = new char[labels.length - 1];
+            System.arraycopy(labels, 0, shrunkLabels, 0, i);
+            System.arraycopy(labels, i + 1, shrunkLabels, i, labels.length - i - 1);
+            Node[] shrunk = new Node[children.length - 1];
+            System.arraycopy(children, 0, shrunk, 0, i);
+            System.arraycopy(children, i + 1, shrunk, i, children.length - i - 1);
+            labels = shrunkLabels;
+            children = shrunk;
+        }
+
+        boolean isEmpty() {
+            return matchCount == 0 && children.length == 0;
+        }
+
+        private static char[] insert(char[] array, int at, char c) {
+            char[] grown = new char[array.length + 1];
+            System.arraycopy(array, 0, grown, 0, at);
+            grown[at] = c;
+            System.arraycopy(array, at, grown, at + 1, array.length - at);
+            return grown;
+        }
+    }
+
+    public MenuSearchIndex(MenuCatalog catalog) {
+        update(catalog);
+    }
+
+    // Index of the current catalog, kept up to date as new catalog versions are installed
+    public static MenuSearchIndex getInstance() {
+        if (instance == null) {
+            synchronized (MenuSearchIndex.class) {
+                if (instance == null) {
+                    MenuSearchIndex index = new MenuSearchIndex(MenuCatalog.current());
+                    MenuCatalog.addListener((previous, current) -> index.update(current));
+                    instance = index;
+                }
+            }
+        }
+        return instance;
+    }
+
+    // Bring the index in line with a catalog. Sections that did not change between the indexed version
+    // and this one are skipped after one equals(); only changed sections are diffed entry by entry.
+    public void update(MenuCatalog catalog) {
+        lock.writeLock().lock();
+        try {
+            MenuCatalog before = indexed;
+            List<Match> removed = new ArrayList<>();
+            List<Match> added = new ArrayList<>();
+            Set<String> types = new TreeSet<>(catalog.getFoodTypes());
+            if (before != null) {
+                types.addAll(before.getFoodTypes());
+            }
+            for (String type : types) {
+                diff(before != null ? before.getIngredientsForType(type) : Collections.emptyList(),
+                        catalog.getIngredientsForType(type),
+                        ingredient -> new Match(INGREDIENT, ingredient.getName(), type, ingredient.getPriceCents()),
+                        removed, added);
+            }
+            diff(before != null ? before.getMainMenu() : Collections.emptyList(), catalog.getMainMenu(),
+                    entry -> new Match(MENU, entry.getName(), entry.getFoodType(), entry.getPriceCents()), removed, added);
+            diffEntries(SIDE, before != null ? before.getSides() : Collections.emptyList(), catalog.getSides(), removed, added);
+            diffEntries(DRINK, before != null ? before.getDrinks() : Collections.emptyList(), catalog.getDrinks(), removed, added);
+            diffEntries(DESSERT, before != null ? before.getDesserts() : Collections.emptyList(), catalog.getDesserts(), removed, added);
+
+            // Removals first, so an entry that moved between sections ends up indexed once
+            for (Match match : removed) {
+                Match old = entries.get(match.key);
+                if (old != null && old.samePrice(match)) {
+                    unindex(old);
+                    entries.remove(match.key);
+                }
+            }
+            for (Match match : added) {
+                Match old = entries.put(match.key, match);
+                if (old != null) {
+                    unindex(old);
+                }
+                index(match);
+            }
+            indexed = catalog;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Match> search(String query, int limit) {
+        return search(query, limit, false);
+    }
+
+    // Up to limit items with a word starting with query; with typoTolerant, prefix matches one edit
+    // away fill up whatever room the exact matches leave
+    public List<Match> search(String query, int limit, boolean typoTolerant) {
+        String prefix = query.trim().toLowerCase();
+        Set<Match> found = new LinkedHashSet<>();
+        if (prefix.isEmpty() || limit <= 0) {
+            return new ArrayList<>(found);
+        }
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; node != null && i < prefix.length(); i++) {
+                node = node.child(prefix.charAt(i));
+            }
+            if (node != null) {
+                collect(node, found, limit);
+            }
+            if (typoTolerant && found.size() < limit) {
+                int[] row = new int[prefix.length() + 1];
+                for (int i = 0; i < row.length; i++) {
+                    row[i] = i;
+                }
+                fuzzy(root, prefix, row, found, limit);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return new ArrayList<>(found);
+    }
+
+    private static void diffEntries(String kind, List<MenuCatalog.Entry> before, List<MenuCatalog.Entry> after,
+                                    List<Match> removed, List<Match> added) {
+        diff(before, after, entry -> new Match(kind, entry.getName(), null, entry.getPriceCents()), removed, added);
+    }
+
+    // Matches of one section that are gone or re-priced go to removed, new or re-priced ones to added
+    private static <T> void diff(List<T> before, List<T> after, Function<T, Match> toMatch,
+                                 List<Match> removed, List<Match> added) {
+        if (before.equals(after)) {
+            return;
+        }
+        Map<String, Match> old = new HashMap<>();
+        for (T item : before) {
+            Match match = toMatch.apply(item);
+            old.put(match.key, match);
+        }
+        for (T item : after) {
+            Match match = toMatch.apply(item);
+            Match was = old.remove(match.key);
+            if (was == null || !was.samePrice(match)) {
+                if (was != null) {
+                    removed.add(was);
+                }
+                added.add(match);
+            }
+        }
+        removed.addAll(old.values());
+    }
+
+    // Add the match under every word of its name
+    private void index(Match match) {
+        String name = match.name.toLowerCase();
+        for (int start = 0; start < name.length(); start++) {
+            if (start > 0 && name.charAt(start - 1) != ' ') {
+                continue;
+            }
+            Node node = root;
+            for (int i = start; i < name.length(); i++) {
+                node = node.childOrAdd(name.charAt(i));
+            }
+            node.addMatch(match);
+        }
+    }
+
+    // Remove the match from under every word of its name, pruning nodes it leaves empty
+    private void unindex(Match match) {
+        String name = match.name.toLowerCase();
+        for (int start = 0; start < name.length(); start++) {
+            if (start == 0 || name.charAt(start - 1) == ' ') {
+                remove(root, name, start, match);
+            }
+        }
+    }
+
+    // Returns true if the node is left with no matches and no children, so the parent can drop it
+    private static boolean remove(Node node, String name, int i, Match match) {
+        if (i == name.length()) {
+            node.removeMatch(match);
+        } else {
+            char c = name.charAt(i);
+            Node child = node.child(c);
+            if (child != null && remove(child, name, i + 1, match)) {
+                node.removeChild(c);
+            }
+        }
+        return node.isEmpty();
+    }
+
+    // Number of trie nodes below the root (used by checks to see that pruning works)
+    int nodeCount() {
+        lock.readLock().lock();
+        try {
+            return count(root) - 1;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static int count(Node node) {
+        int nodes = 1;
+        for (Node child : node.children) {
+            nodes += count(child);
+        }
+        return nodes;
+    }
+
+    // Depth first in character order, so results come out alphabetically
+    private static boolean collect(Node node, Set<Match> found, int limit) {
+        for (int i = 0; i < node.matchCount; i++) {
+            found.add(node.matches[i]);
+            if (found.size() >= limit) {
+                return true;
+            }
+        }
+        for (Node child : node.children) {
+            if (collect(child, found, limit)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Levenshtein rows carried down the trie; a node whose key is within MAX_EDITS of the whole query
+    // is a fuzzy prefix match, and branches where every cell exceeds MAX_EDITS are skipped
+    private static boolean fuzzy(Node node, String query, int[] row, Set<Match> found, int limit) {
+        for (int c = 0; c < node.labels.length; c++) {
+            char label = node.labels[c];
+            int[] next = new int[row.length];
+            next[0] = row[0] + 1;
+            int best = next[0];
+            for (int i = 1; i < row.length; i++) {
+                int cost = query.charAt(i - 1) == label ? 0 : 1;
+                next[i] = Math.min(Math.min(next[i - 1] + 1, row[i] + 1), row[i - 1] + cost);
+                best = Math.min(best, next[i]);
+            }
+            Node child = node.children[c];
+            if (next[row.length - 1] <= MAX_EDITS) {
+                if (collect(child, found, limit)) {
+                    return true;
+                }
+            } else if (best <= MAX_EDITS && fuzzy(child, query, next, found, limit)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
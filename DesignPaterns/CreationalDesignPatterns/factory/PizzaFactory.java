@@ -10,4 +10,9 @@ public class PizzaFactory extends FoodFactory {
     public Food createFood() {
         return new Pizza();
     }
+
+    @Override
+    public String getFoodType() {
+        return "pizza";
+    }
 }
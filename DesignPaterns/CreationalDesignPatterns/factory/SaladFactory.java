@@ -10,4 +10,9 @@ public class SaladFactory extends FoodFactory {
     public Food createFood() {
         return new Salad();
     }
+
+    @Override
+    public String getFoodType() {
+        return "salad";
+    }
 }
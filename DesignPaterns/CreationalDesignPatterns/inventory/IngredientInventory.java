@@ -0,0 +1,200 @@
+package inventory;
+
+import composite.MenuComponent;
+import composite.Order;
+import composite.OrderItem;
+import decorator.FoodDecorator;
+import models.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Kitchen stock, one counter per ingredient.
+//
+// Counters are keyed by ingredient name - what the cook takes off the shelf - so the stock stays with the
+// right ingredient when a new menu catalog renumbers or reprices it. Every counter is updated with its own
+// compare-and-set, so orders using different ingredients never wait for each other and there is no lock on
+// the reserve/release path. Ingredients are UNTRACKED (unlimited) until setStock() is called for them.
+//
+// Stock is taken when an order is placed (OrderManager.useInventory, or tryReserve of a whole cart at
+// checkout), all or nothing - never while the customer is still choosing, so an abandoned builder or cart
+// holds nothing. When a reservation takes an ingredient down to its low-stock threshold the listeners are told.
+public class IngredientInventory {
+    public static final int UNTRACKED = -1;
+
+    private static volatile IngredientInventory instance;
+
+    private final ConcurrentHashMap<String, Counter> stock = new ConcurrentHashMap<>();
+    private final List<LowStockListener> listeners = new CopyOnWriteArrayList<>();
+
+    public interface LowStockListener {
+        void lowStock(Ingredient ingredient, int remaining);
+    }
+
+    public static IngredientInventory getInstance() {
+        if (instance == null) {
+            synchronized (IngredientInventory.class) {
+                if (instance == null) {
+                    instance = new IngredientInventory();
+                }
+            }
+        }
+        return instance;
+    }
+
+    public void addListener(LowStockListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(LowStockListener listener) {
+        listeners.remove(listener);
+    }
+
+    public void setStock(Ingredient ingredient, int quantity) {
+        setStock(ingredient, quantity, 0);
+    }
+
+    // Start tracking an ingredient (or overwrite its count); listeners fire once it drops to lowStockThreshold
+    public void setStock(Ingredient ingredient, int quantity, int lowStockThreshold) {
+        if (quantity == UNTRACKED) {
+            stock.remove(ingredient.getName());
+            return;
+        }
+        if (quantity < 0) {
+            throw new IllegalArgumentException("Stock cannot be negative: " + quantity);
+        }
+        stock.put(ingredient.getName(), new Counter(quantity, lowStockThreshold));
+    }
+
+    public void untrack(Ingredient ingredient) {
+        setStock(ingredient, UNTRACKED);
+    }
+
+    // Current count, or UNTRACKED
+    public int getStock(Ingredient ingredient) {
+        Counter counter = stock.get(ingredient.getName());
+        return counter != null ? counter.units.get() : UNTRACKED;
+    }
+
+    // Whether there is any of it left right now; takes nothing (for menus and builders)
+    public boolean isAvailable(Ingredient ingredient) {
+        return getStock(ingredient) != 0;
+    }
+
+    public boolean tryReserve(Ingredient ingredient) {
+        return tryReserve(ingredient, 1);
+    }
+
+    // Take quantity units if that many are left; untracked ingredients always succeed
+    public boolean tryReserve(Ingredient ingredient, int quantity) {
+        Counter counter = stock.get(ingredient.getName());
+        if (counter == null) {
+            return true;
+        }
+        while (true) {
+            int current = counter.units.get();
+            if (current < quantity) {
+                return false;
+            }
+            if (counter.units.compareAndSet(current, current - quantity)) {
+                if (current > counter.lowStockThreshold && current - quantity <= counter.lowStockThreshold) {
+                    for (LowStockListener listener : listeners) {
+                        listener.lowStock(ingredient, current - quantity);
+                    }
+                }
+                return true;
+            }
+        }
+    }
+
+    // All or nothing: if one ingredient is short, the ones already taken are given back
+    public boolean tryReserveAll(List<Ingredient> ingredients) {
+        for (int i = 0; i < ingredients.size(); i++) {
+            if (!tryReserve(ingredients.get(i))) {
+                for (int j = 0; j < i; j++) {
+                    release(ingredients.get(j));
+                }
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Take everything a cart, combo or single food needs, all or nothing
+    public boolean tryReserve(MenuComponent component) {
+        return tryReserveAll(ingredientsIn(component));
+    }
+
+    public void release(Ingredient ingredient) {
+        release(ingredient, 1);
+    }
+
+    // Give back reserved units (cancelled or refunded order)
+    public void release(Ingredient ingredient, int quantity) {
+        Counter counter = stock.get(ingredient.getName());
+        if (counter != null) {
+            counter.units.addAndGet(quantity);
+        }
+    }
+
+    public void releaseAll(List<Ingredient> ingredients) {
+        for (Ingredient ingredient : ingredients) {
+            release(ingredient);
+        }
+    }
+
+    // Give back everything reserved for a cart, combo or single food
+    public void release(MenuComponent component) {
+        releaseAll(ingredientsIn(component));
+    }
+
+    // Ingredients of a pizza, burger or salad, looking through any decorators
+    public static List<Ingredient> ingredientsOf(Food food) {
+        while (food instanceof FoodDecorator) {
+            food = ((FoodDecorator) food).getDecoratedFood();
+        }
+        if (food instanceof Pizza) {
+            return ((Pizza) food).getIngredients();
+        } else if (food instanceof Burger) {
+            return ((Burger) food).getIngredients();
+        } else if (food instanceof Salad) {
+            return ((Salad) food).getIngredients();
+        }
+        return Collections.emptyList();
+    }
+
+    // Ingredients of every food in a cart or combo
+    public static List<Ingredient> ingredientsIn(MenuComponent component) {
+        List<Ingredient> ingredients = new ArrayList<>();
+        collect(component, ingredients);
+        return ingredients;
+    }
+
+    private static void collect(MenuComponent component, List<Ingredient> ingredients) {
+        if (component instanceof Order) {
+            for (MenuComponent item : ((Order) component).getItems()) {
+                collect(item, ingredients);
+            }
+        } else if (component instanceof OrderItem) {
+            for (MenuComponent item : ((OrderItem) component).getItems()) {
+                collect(item, ingredients);
+            }
+        } else if (component instanceof Food) {
+            ingredients.addAll(ingredientsOf((Food) component));
+        }
+    }
+
+    private static class Counter {
+        private final AtomicInteger units;
+        private final int lowStockThreshold;
+
+        Counter(int units, int lowStockThreshold) {
+            this.units = new AtomicInteger(units);
+            this.lowStockThreshold = lowStockThreshold;
+        }
+    }
+}
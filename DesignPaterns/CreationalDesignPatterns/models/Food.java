@@ -3,5 +3,9 @@ package models;
 public interface Food {
     void prepare();
     String getName();
-    double getPrice();
+    long getPriceCents();
+
+    default double getPrice() {
+        return Money.toDollars(getPriceCents());
+    }
 }
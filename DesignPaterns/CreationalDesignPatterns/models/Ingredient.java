@@ -1,12 +1,66 @@
 package models;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Immutable, so equal ingredients can be shared: of() hands out one instance per name and price
+// (the price list's own instance when it has one) instead of a new object per order. The pool is bounded
+// (PoolKey.POOL_LIMIT), so equality is by value rather than by instance.
 public class Ingredient {
-    private String name;
-    private double price;
+    public static final int NO_ID = -1;
+
+    private static final Map<PoolKey, Ingredient> POOL = new ConcurrentHashMap<>();
+
+    private final int id;
+    private final String name;
+    private final long priceCents;
 
     public Ingredient(String name, double price) {
+        this(NO_ID, name, price);
+    }
+
+    // Catalog ingredients carry a small, stable id (see IngredientCatalog)
+    public Ingredient(int id, String name, double price) {
+        this(id, name, Money.ofDollars(price));
+    }
+
+    private Ingredient(int id, String name, long priceCents) {
+        this.id = id;
         this.name = name;
-        this.price = price;
+        this.priceCents = priceCents;
+    }
+
+    // Catalog files carry prices in cents already
+    public static Ingredient withCents(int id, String name, long priceCents) {
+        return new Ingredient(id, name, priceCents);
+    }
+
+    // Shared ad-hoc instance for this name and price
+    public static Ingredient of(String name, double price) {
+        return of(name, price, null);
+    }
+
+    // The price list's own instance if it has this exact ingredient (so it keeps its id), otherwise
+    // the shared ad-hoc one; prices may be null
+    public static Ingredient of(String name, double price, PriceList prices) {
+        long priceCents = Money.ofDollars(price);
+        Ingredient listed = prices != null ? prices.getIngredient(name) : null;
+        if (listed != null && listed.priceCents == priceCents) {
+            return listed;
+        }
+        PoolKey key = new PoolKey(name, priceCents);
+        Ingredient pooled = POOL.get(key);
+        if (pooled != null) {
+            return pooled;
+        }
+        if (POOL.size() >= PoolKey.POOL_LIMIT) {
+            return new Ingredient(NO_ID, name, priceCents);
+        }
+        return POOL.computeIfAbsent(key, k -> new Ingredient(NO_ID, name, priceCents));
+    }
+
+    public int getId() {
+        return id;
     }
 
     public String getName() {
@@ -14,11 +68,32 @@ public class Ingredient {
     }
 
     public double getPrice() {
-        return price;
+        return Money.toDollars(priceCents);
+    }
+
+    public long getPriceCents() {
+        return priceCents;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Ingredient)) {
+            return false;
+        }
+        Ingredient other = (Ingredient) o;
+        return id == other.id && priceCents == other.priceCents && name.equals(other.name);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * id + name.hashCode()) + Long.hashCode(priceCents);
     }
 
     @Override
     public String toString() {
-        return name + " (+$" + String.format("%.2f", price) + ")";
+        return name + " (+$" + Money.format(priceCents) + ")";
     }
 }
@@ -1,29 +1,46 @@
 package models;
 
+// Immutable, so MealDirector can hand the same instance to every order that asks for the same preset
+// and main dish. The text form is rendered once, in the constructor.
 public class Meal {
-    private String mainDish;
-    private String sideDish;
-    private String drink;
-    private String dessert;
+    private static final String INDENT = "   ";
+
+    private final String mainDish;
+    private final String sideDish;
+    private final String drink;
+    private final String dessert;
+    private final String text;
+    private final String indentedText;
 
     public Meal(String mainDish, String sideDish, String drink, String dessert) {
         this.mainDish = mainDish;
         this.sideDish = sideDish;
         this.drink = drink;
         this.dessert = dessert;
+        this.text = render("");
+        this.indentedText = render(INDENT);
     }
 
-    @Override
-    public String toString() {
+    private String render(String indent) {
         StringBuilder sb = new StringBuilder();
-        sb.append("=== Custom Meal ===\n");
-        sb.append("Main Dish: ").append(mainDish != null ? mainDish : "None").append("\n");
-        sb.append("Side Dish: ").append(sideDish != null ? sideDish : "None").append("\n");
-        sb.append("Drink: ").append(drink != null ? drink : "None").append("\n");
-        sb.append("Dessert: ").append(dessert != null ? dessert : "None");
+        sb.append(indent).append("=== Custom Meal ===\n");
+        sb.append(indent).append("Main Dish: ").append(mainDish != null ? mainDish : "None").append("\n");
+        sb.append(indent).append("Side Dish: ").append(sideDish != null ? sideDish : "None").append("\n");
+        sb.append(indent).append("Drink: ").append(drink != null ? drink : "None").append("\n");
+        sb.append(indent).append("Dessert: ").append(dessert != null ? dessert : "None");
         return sb.toString();
     }
 
+    @Override
+    public String toString() {
+        return text;
+    }
+
+    // toString() with every line indented, as it appears inside an order
+    public String getIndentedText() {
+        return indentedText;
+    }
+
     public String getMainDish() { return mainDish; }
     public String getSideDish() { return sideDish; }
     public String getDrink() { return drink; }
@@ -0,0 +1,47 @@
+package models;
+
+// Money helpers over primitive long cents.
+// Prices travel as plain longs so pricing never boxes or allocates; doubles only appear at the edges
+// (display and the external APIs that still take dollars).
+public final class Money {
+
+    private Money() {
+    }
+
+    // Dollars to cents, rounded to the nearest cent (never truncated)
+    public static long ofDollars(double dollars) {
+        return Math.round(dollars * 100);
+    }
+
+    public static double toDollars(long cents) {
+        return cents / 100.0;
+    }
+
+    // The given percentage of an amount, rounded to the nearest cent
+    public static long percentOf(long cents, double percent) {
+        return Math.round(cents * percent / 100.0);
+    }
+
+    // Cents for APIs that take an int amount; fails instead of silently overflowing
+    public static int toIntCents(long cents) {
+        return Math.toIntExact(cents);
+    }
+
+    // Appends "12.34" (no currency sign) without going through String.format
+    public static StringBuilder appendTo(StringBuilder sb, long cents) {
+        if (cents < 0) {
+            sb.append('-');
+        }
+        // Negate the parts, not the amount, so Long.MIN_VALUE formats too
+        long fraction = Math.abs(cents % 100);
+        sb.append(Math.abs(cents / 100)).append('.');
+        if (fraction < 10) {
+            sb.append('0');
+        }
+        return sb.append(fraction);
+    }
+
+    public static String format(long cents) {
+        return appendTo(new StringBuilder(12), cents).toString();
+    }
+}
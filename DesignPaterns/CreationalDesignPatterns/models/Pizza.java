@@ -1,35 +1,66 @@
 package models;
 
 import composite.MenuComponent;
+import composite.ReceiptRenderer;
 
-import java.util.ArrayList;
 import java.util.List;
 
 public class Pizza implements Food, MenuComponent {
     private String name = "Custom Pizza";
-    private double basePrice = 6.99;
-    private List<Ingredient> ingredients;
+    private long basePriceCents;
+    private Toppings toppings;
+    private MenuComponent parent;  // composite to tell when the price changes
 
     public Pizza() {
-        this.ingredients = new ArrayList<>();
+        this.toppings = new Toppings();
+        this.basePriceCents = toppings.getCatalog().getBasePriceCents("pizza");
     }
 
     public Pizza(List<Ingredient> ingredients) {
-        this.ingredients = ingredients != null ? ingredients : new ArrayList<>();
+        this.toppings = new Toppings(ingredients);
+        this.basePriceCents = toppings.getCatalog().getBasePriceCents("pizza");
+    }
+
+    // Rebuild a pizza with the base price it was originally sold at (used when decoding stored orders)
+    public Pizza(long basePriceCents, List<Ingredient> ingredients) {
+        this.toppings = new Toppings(ingredients);
+        this.basePriceCents = basePriceCents;
+    }
+
+    // Prototype copy - shares the ingredient list until either side is customized
+    private Pizza(Pizza prototype) {
+        this.name = prototype.name;
+        this.basePriceCents = prototype.basePriceCents;
+        this.toppings = prototype.toppings.copy();
+    }
+
+    public Pizza copy() {
+        return new Pizza(this);
     }
 
     public void addIngredient(Ingredient ingredient) {
-        this.ingredients.add(ingredient);
+        this.toppings.add(ingredient);
+        if (parent != null) {
+            parent.invalidate();
+        }
+    }
+
+    @Override
+    public void setParent(MenuComponent parent) {
+        if (parent != null && this.parent != null) {
+            throw new IllegalStateException(getName() + " is already part of " + this.parent.getName());
+        }
+        this.parent = parent;
     }
 
     @Override
     public void prepare() {
         System.out.println("Preparing " + name + "...");
         System.out.println("Rolling out the dough and adding:");
-        if (ingredients.isEmpty()) {
+        if (toppings.isEmpty()) {
             System.out.println("  - Plain crust (no toppings)");
         } else {
-            for (Ingredient ingredient : ingredients) {
+            for (Ingredient ingredient : toppings) {
                 System.out.println("  - " + ingredient.getName());
             }
         }
@@ -41,43 +72,67 @@ public class Pizza implements Food, MenuComponent {
         return name;
     }
 
+    @Override
+    public long getPriceCents() {
+        return basePriceCents + toppings.getPriceCents();
+    }
+
     @Override
     public double getPrice() {
-        double total = basePrice;
-        for (Ingredient ingredient : ingredients) {
-            total += ingredient.getPrice();
-        }
-        return total;
+        return Money.toDollars(getPriceCents());
+    }
+
+    public long getBasePriceCents() {
+        return basePriceCents;
     }
 
     public List<Ingredient> getIngredients() {
-        return ingredients;
+        return toppings.asList();
     }
 
-    @Override
-    public void display(int level) {
-        String indent = "  ".repeat(level);
-        System.out.printf("%s└─ pizza %s - $%.2f%n", indent, name, getPrice());
+    public Toppings getToppings() {
+        return toppings;
+    }
 
-        if (!ingredients.isEmpty()) {
-            for (Ingredient ing : ingredients) {
-                System.out.printf("%s   ├─ %s (+$%.2f)%n",
-                        indent, ing.getName(), ing.getPrice());
-            }
+    // Version of the menu catalog this pizza was priced with
+    public long getCatalogVersion() {
+        return toppings.getCatalog().getVersion();
+    }
+
+    // Two pizzas are equal when they have the same name, base price and toppings
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
         }
+        if (!(o instanceof Pizza)) {
+            return false;
+        }
+        Pizza other = (Pizza) o;
+        return basePriceCents == other.basePriceCents && name.equals(other.name) && toppings.equals(other.toppings);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * name.hashCode() + toppings.hashCode();
+    }
+
+    @Override
+    public void display(int level) {
+        ReceiptRenderer.display(this, level);
     }
 
 
     public String getDetailedDescription() {
         StringBuilder sb = new StringBuilder();
-        sb.append(name).append(" - Base: $").append(String.format("%.2f", basePrice)).append("\n");
-        if (!ingredients.isEmpty()) {
+        sb.append(name).append(" - Base: $").append(Money.format(basePriceCents)).append("\n");
+        if (!toppings.isEmpty()) {
             sb.append("Ingredients:\n");
-            for (Ingredient ing : ingredients) {
+            for (Ingredient ing : toppings) {
                 sb.append("  • ").append(ing.toString()).append("\n");
             }
         }
-        sb.append("Total Price: $").append(String.format("%.2f", getPrice()));
+        sb.append("Total Price: $").append(Money.format(getPriceCents()));
         return sb.toString();
     }
 }
@@ -0,0 +1,31 @@
+package models;
+
+// Key of the instance pools of immutable, shareable values (Ingredient.of, SimpleItem.of):
+// one instance per name and price
+public final class PoolKey {
+    // Names and prices can come from customers (FoodBuilder.addIngredient), so a pool stops growing at
+    // this size and hands out unshared instances from then on
+    public static final int POOL_LIMIT = 1024;
+
+    private final String name;
+    private final long priceCents;
+
+    public PoolKey(String name, long priceCents) {
+        this.name = name;
+        this.priceCents = priceCents;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof PoolKey)) {
+            return false;
+        }
+        PoolKey other = (PoolKey) o;
+        return priceCents == other.priceCents && name.equals(other.name);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * name.hashCode() + Long.hashCode(priceCents);
+    }
+}
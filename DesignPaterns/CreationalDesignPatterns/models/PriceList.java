@@ -0,0 +1,27 @@
+package models;
+
+// What foods are priced from: the catalog ingredients (by id and by name) and the base price of each
+// food type. The menu catalog in the factory package implements it and is found through ServiceLoader
+// (META-INF/services/models.PriceList$Source), so nothing in models depends on factory. Without a registered
+// source a built-in list with the standard base prices and no catalog ingredients is used.
+public interface PriceList {
+    long getVersion();
+
+    // Ingredient by id, or null if the id is not in this price list
+    Ingredient getIngredient(int id);
+
+    // Ingredient by exact name, or null
+    Ingredient getIngredient(String name);
+
+    long getBasePriceCents(String foodType);
+
+    // Hands out the price list new foods are built with
+    interface Source {
+        PriceList current();
+    }
+
+    // The price list new foods are built with
+    static PriceList current() {
+        return PriceListSource.SOURCE.current();
+    }
+}
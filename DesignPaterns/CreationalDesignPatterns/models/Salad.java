@@ -1,33 +1,64 @@
 package models;
 import composite.MenuComponent;
-import java.util.ArrayList;
+import composite.ReceiptRenderer;
 import java.util.List;
 
 public class Salad implements Food, MenuComponent {
     private String name = "Custom Salad";
-    private double basePrice = 3.99;
-    private List<Ingredient> ingredients;
+    private long basePriceCents;
+    private Toppings toppings;
+    private MenuComponent parent;  // composite to tell when the price changes
 
     public Salad() {
-        this.ingredients = new ArrayList<>();
+        this.toppings = new Toppings();
+        this.basePriceCents = toppings.getCatalog().getBasePriceCents("salad");
     }
 
     public Salad(List<Ingredient> ingredients) {
-        this.ingredients = ingredients != null ? ingredients : new ArrayList<>();
+        this.toppings = new Toppings(ingredients);
+        this.basePriceCents = toppings.getCatalog().getBasePriceCents("salad");
+    }
+
+    // Rebuild a salad with the base price it was originally sold at (used when decoding stored orders)
+    public Salad(long basePriceCents, List<Ingredient> ingredients) {
+        this.toppings = new Toppings(ingredients);
+        this.basePriceCents = basePriceCents;
+    }
+
+    // Prototype copy - shares the ingredient list until either side is customized
+    private Salad(Salad prototype) {
+        this.name = prototype.name;
+        this.basePriceCents = prototype.basePriceCents;
+        this.toppings = prototype.toppings.copy();
+    }
+
+    public Salad copy() {
+        return new Salad(this);
     }
 
     public void addIngredient(Ingredient ingredient) {
-        this.ingredients.add(ingredient);
+        this.toppings.add(ingredient);
+        if (parent != null) {
+            parent.invalidate();
+        }
+    }
+
+    @Override
+    public void setParent(MenuComponent parent) {
+        if (parent != null && this.parent != null) {
+            throw new IllegalStateException(getName() + " is already part of " + this.parent.getName());
+        }
+        this.parent = parent;
     }
 
     @Override
     public void prepare() {
         System.out.println("Preparing " + name + "...");
         System.out.println("Mixing fresh ingredients:");
-        if (ingredients.isEmpty()) {
+        if (toppings.isEmpty()) {
             System.out.println("  - Plain lettuce base");
         } else {
-            for (Ingredient ingredient : ingredients) {
+            for (Ingredient ingredient : toppings) {
                 System.out.println("  - " + ingredient.getName());
             }
         }
@@ -39,44 +70,67 @@ public class Salad implements Food, MenuComponent {
         return name;
     }
 
+    @Override
+    public long getPriceCents() {
+        return basePriceCents + toppings.getPriceCents();
+    }
+
     @Override
     public double getPrice() {
-        double total = basePrice;
-        for (Ingredient ingredient : ingredients) {
-            total += ingredient.getPrice();
-        }
-        return total;
+        return Money.toDollars(getPriceCents());
+    }
+
+    public long getBasePriceCents() {
+        return basePriceCents;
     }
 
     public List<Ingredient> getIngredients() {
-        return ingredients;
+        return toppings.asList();
+    }
+
+    public Toppings getToppings() {
+        return toppings;
+    }
+
+    // Version of the menu catalog this salad was priced with
+    public long getCatalogVersion() {
+        return toppings.getCatalog().getVersion();
     }
 
+    // Two salads are equal when they have the same name, base price and toppings
     @Override
-    public void display(int level) {
-        String indent = "  ".repeat(level);
-        // FIX: Use %s for name, %.2f for price
-        System.out.printf("%s└─ salad %s - $%.2f%n", indent, name, getPrice());
-
-        if (!ingredients.isEmpty()) {
-            for (Ingredient ing : ingredients) {
-                System.out.printf("%s   ├─ %s (+$%.2f)%n",
-                        indent, ing.getName(), ing.getPrice());
-            }
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Salad)) {
+            return false;
         }
+        Salad other = (Salad) o;
+        return basePriceCents == other.basePriceCents && name.equals(other.name) && toppings.equals(other.toppings);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * name.hashCode() + toppings.hashCode();
+    }
+
+    @Override
+    public void display(int level) {
+        ReceiptRenderer.display(this, level);
     }
 
 
     public String getDetailedDescription() {
         StringBuilder sb = new StringBuilder();
-        sb.append(name).append(" - Base: $").append(String.format("%.2f", basePrice)).append("\n");
-        if (!ingredients.isEmpty()) {
+        sb.append(name).append(" - Base: $").append(Money.format(basePriceCents)).append("\n");
+        if (!toppings.isEmpty()) {
             sb.append("Ingredients:\n");
-            for (Ingredient ing : ingredients) {
+            for (Ingredient ing : toppings) {
                 sb.append("  • ").append(ing.toString()).append("\n");
             }
         }
-        sb.append("Total Price: $").append(String.format("%.2f", getPrice()));
+        sb.append("Total Price: $").append(Money.format(getPriceCents()));
         return sb.toString();
     }
 }
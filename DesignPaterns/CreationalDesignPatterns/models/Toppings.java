@@ -0,0 +1,151 @@
+package models;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+// Ingredient list of a Pizza, Burger or Salad with a running price total.
+//
+// While the ingredients are catalog ingredients with ids below 64, added in increasing id order, the
+// toppings are just a bitmask over catalog ids - a few words per food. Adding anything else (an ad-hoc
+// ingredient, the same one twice, or one with a lower id than the last, which would reorder the list)
+// switches to a plain list, so the toppings always list ingredients in the order they were added.
+// Either way the price is kept incrementally, so getPriceCents() is O(1).
+//
+// The toppings remember the price list (MenuCatalog version) current when they were created, so the mask keeps
+// meaning the same ingredients after a newer catalog is installed. equals/hashCode are those of the
+// ordered ingredient list in both modes (a compact and a list Toppings can be equal); two masks from the
+// same catalog are compared as one long.
+//
+// copy() is cheap: in list mode both copies share the same backing list until one of them adds an
+// ingredient (copy-on-write), which is what lets preset prototypes be cloned without rebuilding anything.
+public final class Toppings implements Iterable<Ingredient> {
+    private static final int MASK_BITS = 64;
+
+    private final PriceList catalog;
+    private long mask;
+    private List<Ingredient> items;  // null while the compact mask is in use
+    private boolean shared;
+    private long priceCents;
+
+    public Toppings() {
+        this.catalog = PriceList.current();
+    }
+
+    public Toppings(List<Ingredient> ingredients) {
+        this();
+        if (ingredients != null) {
+            for (Ingredient ingredient : ingredients) {
+                add(ingredient);
+            }
+        }
+    }
+
+    private Toppings(PriceList catalog, long mask, List<Ingredient> items, long priceCents) {
+        this.catalog = catalog;
+        this.mask = mask;
+        this.items = items;
+        this.priceCents = priceCents;
+        this.shared = items != null;
+    }
+
+    public void add(Ingredient ingredient) {
+        if (items == null) {
+            int id = ingredient.getId();
+            if (id >= 0 && id < MASK_BITS && (mask >>> id) == 0
+                    && catalog.getIngredient(id) == ingredient) {
+                mask |= 1L << id;
+                priceCents += ingredient.getPriceCents();
+                return;
+            }
+            items = materialize();
+            mask = 0;
+        } else if (shared) {
+            items = new ArrayList<>(items);
+            shared = false;
+        }
+        items.add(ingredient);
+        priceCents += ingredient.getPriceCents();
+    }
+
+    // A copy sharing this list until either side changes
+    public Toppings copy() {
+        if (items != null) {
+            shared = true;
+        }
+        return new Toppings(catalog, mask, items, priceCents);
+    }
+
+    // Sum of the ingredient prices, kept up to date on every add
+    public long getPriceCents() {
+        return priceCents;
+    }
+
+    // The catalog these toppings were priced with
+    public PriceList getCatalog() {
+        return catalog;
+    }
+
+    public boolean isCompact() {
+        return items == null;
+    }
+
+    // Catalog id bitmask (only meaningful while isCompact())
+    public long getMask() {
+        return mask;
+    }
+
+    public boolean isEmpty() {
+        return items == null ? mask == 0 : items.isEmpty();
+    }
+
+    public int size() {
+        return items == null ? Long.bitCount(mask) : items.size();
+    }
+
+    public List<Ingredient> asList() {
+        return Collections.unmodifiableList(items == null ? materialize() : items);
+    }
+
+    @Override
+    public Iterator<Ingredient> iterator() {
+        return asList().iterator();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Toppings)) {
+            return false;
+        }
+        Toppings other = (Toppings) o;
+        if (items == null && other.items == null && catalog == other.catalog) {
+            return mask == other.mask;
+        }
+        return priceCents == other.priceCents && asList().equals(other.asList());
+    }
+
+    // Same value as asList().hashCode(), without building the list in compact mode
+    @Override
+    public int hashCode() {
+        if (items != null) {
+            return items.hashCode();
+        }
+        int hash = 1;
+        for (long bits = mask; bits != 0; bits &= bits - 1) {
+            hash = 31 * hash + catalog.getIngredient(Long.numberOfTrailingZeros(bits)).hashCode();
+        }
+        return hash;
+    }
+
+    private List<Ingredient> materialize() {
+        List<Ingredient> list = new ArrayList<>(Long.bitCount(mask) + 1);
+        for (long bits = mask; bits != 0; bits &= bits - 1) {
+            list.add(catalog.getIngredient(Long.numberOfTrailingZeros(bits)));
+        }
+        return list;
+    }
+}
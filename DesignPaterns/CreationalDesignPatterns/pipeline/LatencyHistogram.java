@@ -0,0 +1,61 @@
+package pipeline;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Log-linear latency histogram (16 sub-buckets per power of two, ~6% precision).
+// Written by a single stage thread, readable from any thread.
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(64 * SUB_BUCKETS);
+
+    void record(long nanos) {
+        int index = indexOf(Math.max(1, nanos));
+        counts.lazySet(index, counts.get(index) + 1);
+    }
+
+    public long getCount() {
+        long total = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            total += counts.get(i);
+        }
+        return total;
+    }
+
+    // Upper bound of the bucket holding the given percentile (0-100), in nanoseconds
+    public long getPercentileNanos(double percentile) {
+        long total = getCount();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(total * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen >= Math.max(1, rank)) {
+                return upperBound(i);
+            }
+        }
+        return upperBound(counts.length() - 1);
+    }
+
+    private static int indexOf(long value) {
+        int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        if (magnitude < SUB_BUCKET_BITS) {
+            return (int) value;
+        }
+        int sub = (int) (value >>> (magnitude - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (magnitude - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    private static long upperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int magnitude = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long sub = index % SUB_BUCKETS;
+        long base = (SUB_BUCKETS + sub) << (magnitude - SUB_BUCKET_BITS);
+        return base + (1L << (magnitude - SUB_BUCKET_BITS)) - 1;
+    }
+}
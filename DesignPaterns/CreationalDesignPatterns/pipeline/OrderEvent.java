@@ -0,0 +1,48 @@
+package pipeline;
+
+import adapter.DeliveryPlatform;
+import adapter.PaymentProcessor;
+import singleton.OrderManager;
+
+// One pre-allocated ring buffer slot. Slots are reused, so stages must not keep references to them.
+public class OrderEvent {
+    OrderManager.Order order;
+    PaymentProcessor payment;
+    DeliveryPlatform platform;
+    long publishedNanos;
+    boolean paid;
+    boolean failed;
+
+    public OrderManager.Order getOrder() {
+        return order;
+    }
+
+    public PaymentProcessor getPayment() {
+        return payment;
+    }
+
+    public DeliveryPlatform getPlatform() {
+        return platform;
+    }
+
+    public boolean isPaid() {
+        return paid;
+    }
+
+    public void setPaid(boolean paid) {
+        this.paid = paid;
+    }
+
+    // True once a stage has thrown on this event; later stages should leave it alone
+    public boolean isFailed() {
+        return failed;
+    }
+
+    void clear() {
+        order = null;
+        payment = null;
+        platform = null;
+        paid = false;
+        failed = false;
+    }
+}
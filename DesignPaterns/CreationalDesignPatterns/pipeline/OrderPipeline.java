@@ -0,0 +1,265 @@
+package pipeline;
+
+import adapter.DeliveryPlatform;
+import adapter.PaymentProcessor;
+import models.Food;
+import models.Meal;
+import singleton.OrderManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Disruptor-style order pipeline: a pre-allocated ring of OrderEvent slots and a chain of stages
+// (payment -> delivery platform -> kitchen), each running on its own thread.
+// Every sequence has exactly one writer; stages consume whatever is available as one micro-batch
+// and publish their progress once per batch. Producers block only when the ring is full.
+// A handler that throws only fails that one event: the failure is counted and logged and the stage
+// moves on, so one bad order can never stall the ring.
+public class OrderPipeline implements AutoCloseable {
+    // Waiting threads stop counting here; every WaitStrategy reaches its slowest step long before
+    static final int IDLE_ATTEMPT_LIMIT = 1_000;
+
+    // Work done by one stage on one event
+    public interface Handler {
+        void onEvent(OrderEvent event, boolean endOfBatch);
+    }
+
+    private final OrderManager manager;
+    private final OrderEvent[] ring;
+    private final int mask;
+    private final int indexShift;
+    private final AtomicIntegerArray published;  // round number of the last publish per slot
+    private final AtomicLong claimed = new AtomicLong(-1);
+    private final WaitStrategy waitStrategy;
+    private final List<Stage> stages = new ArrayList<>();
+    private volatile boolean running = true;
+
+    // ringSize must be a power of two
+    public OrderPipeline(OrderManager manager, int ringSize, WaitStrategy waitStrategy) {
+        if (ringSize < 1 || Integer.bitCount(ringSize) != 1) {
+            throw new IllegalArgumentException("Ring size must be a power of two");
+        }
+        this.manager = manager;
+        this.ring = new OrderEvent[ringSize];
+        for (int i = 0; i < ringSize; i++) {
+            ring[i] = new OrderEvent();
+        }
+        this.mask = ringSize - 1;
+        this.indexShift = Integer.numberOfTrailingZeros(ringSize);
+        this.published = new AtomicIntegerArray(ringSize);
+        for (int i = 0; i < ringSize; i++) {
+            published.set(i, -1);
+        }
+        this.waitStrategy = waitStrategy;
+    }
+
+    // The standard chain: charge, hand to the delivery platform, then cook. If the platform or the
+    // kitchen fails on a charged order, the charge is refunded.
+    public static OrderPipeline standard(OrderManager manager, int ringSize, WaitStrategy waitStrategy) {
+        OrderPipeline pipeline = new OrderPipeline(manager, ringSize, waitStrategy);
+        pipeline.addStage("payment", (event, endOfBatch) -> {
+            OrderManager.Order order = event.getOrder();
+            event.setPaid(event.getPayment() == null
+                    || event.getPayment().processPayment(order.getCustomerName(), order.getTotalAmount()));
+        });
+        pipeline.addStage("platform", refundOnFailure((event, endOfBatch) -> {
+            if (event.isPaid() && !event.isFailed() && event.getPlatform() != null) {
+                OrderManager.Order order = event.getOrder();
+                event.getPlatform().acceptOrder("ORD" + order.getId(), order.getTotalAmount());
+            }
+        }));
+        pipeline.addStage("kitchen", refundOnFailure((event, endOfBatch) -> {
+            if (event.isPaid() && !event.isFailed() && event.getOrder().getFood() != null) {
+                event.getOrder().getFood().prepare();
+            }
+        }));
+        return pipeline.start();
+    }
+
+    // Wrap a stage that runs after payment: when it throws on a charged order, refund the charge
+    // (the event is then no longer paid) before the failure is recorded
+    static Handler refundOnFailure(Handler handler) {
+        return (event, endOfBatch) -> {
+            try {
+                handler.onEvent(event, endOfBatch);
+            } catch (RuntimeException e) {
+                OrderManager.Order order = event.getOrder();
+                if (event.isPaid() && event.getPayment() != null
+                        && event.getPayment().refund("ORD" + order.getId(), order.getTotalAmount())) {
+                    event.setPaid(false);
+                }
+                throw e;
+            }
+        };
+    }
+
+    // Append a stage after the existing ones; all stages must be added before start()
+    public OrderPipeline addStage(String name, Handler handler) {
+        Stage upstream = stages.isEmpty() ? null : stages.get(stages.size() - 1);
+        stages.add(new Stage(name, handler, upstream));
+        return this;
+    }
+
+    public OrderPipeline start() {
+        if (stages.isEmpty()) {
+            throw new IllegalStateException("Pipeline has no stages");
+        }
+        for (Stage stage : stages) {
+            stage.thread.start();
+        }
+        return this;
+    }
+
+    // Register the order with OrderManager and hand it to the stages; returns once it is in the ring,
+    // or null without publishing anything if OrderManager refused it (restaurant closed, or admission)
+    public OrderManager.Order placeOrder(String customerName, Food food, Meal meal,
+                                         PaymentProcessor payment, DeliveryPlatform platform) {
+        if (!running) {
+            throw new IllegalStateException("Pipeline is closed");
+        }
+        OrderManager.Order order = manager.placeOrder(customerName, food, meal);
+        if (order == null) {
+            return null;
+        }
+
+        long sequence = claimed.incrementAndGet();
+        Stage last = stages.get(stages.size() - 1);
+        int attempt = 0;
+        while (sequence - ring.length > last.sequence.get()) {
+            waitStrategy.idle(attempt);  // ring is full - wait for the kitchen to free the slot
+            attempt = Math.min(attempt + 1, IDLE_ATTEMPT_LIMIT);
+        }
+
+        OrderEvent event = ring[(int) sequence & mask];
+        event.order = order;
+        event.payment = payment;
+        event.platform = platform;
+        event.paid = false;
+        event.failed = false;
+        event.publishedNanos = System.nanoTime();
+        published.set((int) sequence & mask, (int) (sequence >>> indexShift));
+        return order;
+    }
+
+    public LatencyHistogram getLatency(String stageName) {
+        return stage(stageName).latency;
+    }
+
+    // Events whose handler threw in the given stage
+    public long getFailureCount(String stageName) {
+        return stage(stageName).failures.get();
+    }
+
+    private Stage stage(String stageName) {
+        for (Stage stage : stages) {
+            if (stage.name.equals(stageName)) {
+                return stage;
+            }
+        }
+        throw new IllegalArgumentException("Unknown stage: " + stageName);
+    }
+
+    // Orders fully processed by the last stage
+    public long getCompletedCount() {
+        return stages.get(stages.size() - 1).sequence.get() + 1;
+    }
+
+    // Stop accepting orders, let the stages drain what is already in the ring and wait for them.
+    // Producers should have stopped calling placeOrder before this is called. If the caller is
+    // interrupted while waiting, close() returns early with the interrupt flag set again.
+    @Override
+    public void close() {
+        running = false;
+        try {
+            for (Stage stage : stages) {
+                stage.thread.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Highest sequence in [from, claimed] whose slots have all been published
+    private long highestPublished(long from, long claimedUpTo) {
+        for (long s = from; s <= claimedUpTo; s++) {
+            if (published.get((int) s & mask) != (int) (s >>> indexShift)) {
+                return s - 1;
+            }
+        }
+        return claimedUpTo;
+    }
+
+    private class Stage implements Runnable {
+        private final String name;
+        private final Handler handler;
+        private final Stage upstream;
+        private final AtomicLong sequence = new AtomicLong(-1);
+        private final AtomicLong failures = new AtomicLong();
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final Thread thread;
+
+        Stage(String name, Handler handler, Stage upstream) {
+            this.name = name;
+            this.handler = handler;
+            this.upstream = upstream;
+            this.thread = new Thread(this, "order-pipeline-" + name);
+            this.thread.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            boolean last = stages.get(stages.size() - 1) == this;
+            long next = 0;
+            int attempt = 0;
+            while (true) {
+                long available = upstream != null
+                        ? upstream.sequence.get()
+                        : highestPublished(next, claimed.get());
+                if (available < next) {
+                    if (!running && upstreamDone()) {
+                        return;
+                    }
+                    waitStrategy.idle(attempt);
+                    attempt = Math.min(attempt + 1, IDLE_ATTEMPT_LIMIT);
+                    continue;
+                }
+                attempt = 0;
+
+                for (long s = next; s <= available; s++) {
+                    OrderEvent event = ring[(int) s & mask];
+                    try {
+                        handler.onEvent(event, s == available);
+                    } catch (RuntimeException e) {
+                        failed(event, e);
+                    }
+                    latency.record(System.nanoTime() - event.publishedNanos);
+                    if (last) {
+                        event.clear();
+                    }
+                }
+                sequence.set(available);  // one publish per micro-batch
+                next = available + 1;
+            }
+        }
+
+        // A failed event stays in the ring marked failed, so later stages skip it. Its paid state is left
+        // alone: an order that was charged still shows as paid until it is refunded.
+        private void failed(OrderEvent event, RuntimeException e) {
+            failures.incrementAndGet();
+            event.failed = true;
+            OrderManager.Order order = event.order;
+            System.out.println("Pipeline stage " + name + " failed on order #"
+                    + (order != null ? order.getId() : -1) + ": " + e);
+        }
+
+        private boolean upstreamDone() {
+            if (upstream != null) {
+                return !upstream.thread.isAlive() && upstream.sequence.get() == sequence.get();
+            }
+            return highestPublished(sequence.get() + 1, claimed.get()) == claimed.get()
+                    && sequence.get() == claimed.get();
+        }
+    }
+}
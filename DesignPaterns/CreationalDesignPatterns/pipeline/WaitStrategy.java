@@ -0,0 +1,39 @@
+package pipeline;
+
+import java.util.concurrent.locks.LockSupport;
+
+// How an idle stage waits for its upstream to make progress
+public interface WaitStrategy {
+
+    // Called repeatedly while nothing is available; attempt counts calls since the last progress
+    void idle(int attempt);
+
+    // Lowest latency, burns a core per stage
+    static WaitStrategy busySpin() {
+        return attempt -> Thread.onSpinWait();
+    }
+
+    // Spins briefly, then yields the CPU to other threads
+    static WaitStrategy yielding() {
+        return attempt -> {
+            if (attempt < 100) {
+                Thread.onSpinWait();
+            } else {
+                Thread.yield();
+            }
+        };
+    }
+
+    // Spins, yields, then parks for the given time - gentle on CPU, higher latency
+    static WaitStrategy sleeping(long parkNanos) {
+        return attempt -> {
+            if (attempt < 100) {
+                Thread.onSpinWait();
+            } else if (attempt < 200) {
+                Thread.yield();
+            } else {
+                LockSupport.parkNanos(parkNanos);
+            }
+        };
+    }
+}
@@ -0,0 +1,114 @@
+package prototype;
+
+import builder.FoodBuilder;
+import factory.FoodFactoryProvider;
+import factory.IngredientCatalog;
+import factory.MenuCatalog;
+import inventory.IngredientInventory;
+import models.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Prototype registry for the popular, preconfigured foods.
+// Each preset is built once; ordering one returns a copy that shares the prototype's ingredient list
+// (copy-on-write) and already knows its price, instead of running the factory and builder again.
+// Presets registered by ingredient name are rebuilt whenever a new menu catalog is installed.
+public class FoodPresets {
+    private static final Map<String, Food> PRESETS = new ConcurrentHashMap<>();
+    private static final Map<String, String[]> RECIPES = new ConcurrentHashMap<>();
+
+    static {
+        MenuCatalog.addListener((previous, current) -> rebuild());
+
+        register("pepperoni pizza", "pizza", "Mozzarella Cheese", "Tomato Sauce", "Pepperoni");
+        register("margherita pizza", "pizza", "Mozzarella Cheese", "Tomato Sauce", "Basil");
+        register("veggie pizza", "pizza", "Mozzarella Cheese", "Tomato Sauce", "Mushrooms", "Bell Peppers", "Olives");
+        register("classic burger", "burger", "Beef Patty", "Cheese Slice", "Lettuce", "Tomato");
+        register("bacon burger", "burger", "Beef Patty", "Cheese Slice", "Bacon", "Special Sauce");
+        register("avocado burger", "burger", "Beef Patty", "Avocado", "Lettuce", "Onion");
+        register("caesar salad", "salad", "Lettuce Mix", "Grilled Chicken", "Croutons", "Caesar Dressing", "Parmesan Cheese");
+        register("greek salad", "salad", "Lettuce Mix", "Cherry Tomatoes", "Cucumber", "Feta Cheese");
+    }
+
+    private FoodPresets() {
+    }
+
+    // Build a preset from catalog ingredient names and keep it as the prototype
+    public static void register(String presetName, String foodType, String... ingredientNames) {
+        List<Ingredient> available = IngredientCatalog.getIngredientsForType(foodType);
+        FoodBuilder builder = new FoodBuilder(FoodFactoryProvider.getFactory(foodType).createFood(), null);
+        for (String ingredientName : ingredientNames) {
+            Ingredient ingredient = IngredientCatalog.getByName(ingredientName);
+            if (ingredient == null || !available.contains(ingredient)) {
+                throw new IllegalArgumentException("Unknown " + foodType + " ingredient: " + ingredientName);
+            }
+            builder.addIngredient(ingredient);
+        }
+        register(presetName, builder.build());
+        String[] recipe = new String[ingredientNames.length + 1];
+        recipe[0] = foodType;
+        System.arraycopy(ingredientNames, 0, recipe, 1, ingredientNames.length);
+        RECIPES.put(presetName.toLowerCase(), recipe);
+    }
+
+    // Use an already built food as the prototype for a preset
+    public static void register(String presetName, Food prototype) {
+        if (!(prototype instanceof Pizza || prototype instanceof Burger || prototype instanceof Salad)) {
+            throw new IllegalArgumentException("Only pizza, burger and salad presets can be copied");
+        }
+        PRESETS.put(presetName.toLowerCase(), prototype);
+        RECIPES.remove(presetName.toLowerCase());
+    }
+
+    // Re-price the named-ingredient presets against the current catalog; presets whose ingredients
+    // are no longer on the menu are dropped
+    private static void rebuild() {
+        for (Map.Entry<String, String[]> recipe : new ArrayList<>(RECIPES.entrySet())) {
+            String[] spec = recipe.getValue();
+            try {
+                register(recipe.getKey(), spec[0], Arrays.copyOfRange(spec, 1, spec.length));
+            } catch (IllegalArgumentException e) {
+                PRESETS.remove(recipe.getKey());
+                RECIPES.remove(recipe.getKey());
+            }
+        }
+    }
+
+    // A fresh, independently customizable copy of a preset. Throws IllegalStateException if one of its
+    // ingredients is out of stock; the stock itself is taken when the order is placed.
+    public static Food order(String presetName) {
+        Food prototype = PRESETS.get(presetName);
+        if (prototype == null) {
+            prototype = PRESETS.get(presetName.toLowerCase());
+        }
+        if (prototype == null) {
+            throw new IllegalArgumentException("Unknown preset: " + presetName);
+        }
+        IngredientInventory inventory = IngredientInventory.getInstance();
+        for (Ingredient ingredient : IngredientInventory.ingredientsOf(prototype)) {
+            if (!inventory.isAvailable(ingredient)) {
+                throw new IllegalStateException(presetName + " is out of stock");
+            }
+        }
+        return copyOf(prototype);
+    }
+
+    public static Set<String> names() {
+        return Collections.unmodifiableSet(PRESETS.keySet());
+    }
+
+    private static Food copyOf(Food prototype) {
+        if (prototype instanceof Pizza) {
+            return ((Pizza) prototype).copy();
+        } else if (prototype instanceof Burger) {
+            return ((Burger) prototype).copy();
+        }
+        return ((Salad) prototype).copy();
+    }
+}
@@ -0,0 +1,25 @@
+#!/usr/bin/env bash
+# Builds everything (including test/) and runs one timing driver from test/.
+#
+#   scripts/bench.sh <class> [args...]     e.g. scripts/bench.sh models.PricingBenchmark 100000 200
+#
+# Drivers print their own numbers; they are plain timing loops with a warm-up, not JMH, so compare
+# results from the same machine and JVM only.
+set -euo pipefail
+
+if [ "$#" -lt 1 ]; then
+    echo "usage: scripts/bench.sh <class> [args...]" >&2
+    exit 1
+fi
+
+cd "$(dirname "$0")/.."
+BUILD=build/bench
+
+rm -rf "$BUILD"
+mkdir -p "$BUILD"
+javac -encoding UTF-8 -d "$BUILD" $(find . -path ./build -prune -o -name '*.java' -print)
+cp --parents factory/menu-catalog.txt META-INF/services/* "$BUILD"
+
+CLASS="$1"
+shift
+java -cp "$BUILD" "$CLASS" "$@"
@@ -0,0 +1,17 @@
+#!/usr/bin/env bash
+# Measures order intake with the write-ahead journal in each sync mode: orders/sec and placeOrder p50/p99.
+#
+#   scripts/journal-bench.sh [threads] [ordersPerThread]
+#
+# The journal lives in a temporary directory, so the numbers depend on the disk behind java.io.tmpdir.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+BUILD=build/bench
+
+rm -rf "$BUILD"
+mkdir -p "$BUILD"
+javac -encoding UTF-8 -d "$BUILD" $(find . -path ./build -prune -o -name '*.java' -print)
+cp --parents factory/menu-catalog.txt META-INF/services/* "$BUILD"
+
+java -cp "$BUILD" singleton.OrderJournalBenchmark "$@"
@@ -0,0 +1,26 @@
+#!/usr/bin/env bash
+# Compiles the sources together with the runnable checks under test/ and runs every *Check class.
+#
+#   scripts/run-checks.sh [CheckName ...]
+#
+# Exits non-zero as soon as a check fails.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+BUILD=build/checks
+
+rm -rf "$BUILD"
+mkdir -p "$BUILD"
+javac -encoding UTF-8 -d "$BUILD" $(find . -path ./build -prune -o -name '*.java' -print)
+cp --parents factory/menu-catalog.txt META-INF/services/* "$BUILD"
+
+if [ "$#" -gt 0 ]; then
+    CHECKS=("$@")
+else
+    CHECKS=($(cd test && find . -name '*Check.java' | sed 's|^\./||; s|\.java$||; s|/|.|g' | sort))
+fi
+
+for check in "${CHECKS[@]}"; do
+    java -cp "$BUILD" "$check"
+done
+echo "All ${#CHECKS[@]} checks passed"
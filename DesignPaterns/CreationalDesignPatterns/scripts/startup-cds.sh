@@ -0,0 +1,36 @@
+#!/usr/bin/env bash
+# Builds an AppCDS archive for the ordering app and compares time-to-first-order with and without it.
+#
+#   scripts/startup-cds.sh [runs]
+#
+# Needs JDK 13+ (for -XX:ArchiveClassesAtExit). CDS only archives classes loaded from jars,
+# so the sources are compiled and packed into build/app.jar first.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+RUNS="${1:-10}"
+BUILD=build
+ORDER=(--order pizza:1,3 --customer Benchmark)
+
+rm -rf "$BUILD/classes"
+mkdir -p "$BUILD/classes"
+javac -encoding UTF-8 -d "$BUILD/classes" $(find . \( -path "./$BUILD" -o -path ./test \) -prune -o -name '*.java' -print)
+cp --parents factory/menu-catalog.txt META-INF/services/* "$BUILD/classes"
+jar --create --file "$BUILD/app.jar" -C "$BUILD/classes" .
+
+echo "Training run (dumps $BUILD/app.jsa)..."
+java -XX:ArchiveClassesAtExit="$BUILD/app.jsa" -cp "$BUILD/app.jar" client.Main "${ORDER[@]}" > /dev/null
+
+average() {
+    local total=0
+    for _ in $(seq "$RUNS"); do
+        local ms
+        ms=$(java "$@" -cp "$BUILD/app.jar" client.Main "${ORDER[@]}" | sed -n 's/^Time to first order: \([0-9]*\) ms$/\1/p')
+        total=$((total + ms))
+    done
+    echo $((total / RUNS))
+}
+
+echo "Time to first order, average of $RUNS runs:"
+echo "  without AppCDS: $(average -Xshare:auto) ms"
+echo "  with AppCDS:    $(average -XX:SharedArchiveFile="$BUILD/app.jsa") ms"
@@ -0,0 +1,122 @@
+package singleton;
+
+import codec.BinaryCodec;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// Compacted storage for orders that have left the hot window.
+// A whole store segment is encoded into one blob: a table of record offsets (-1 for empty slots)
+// followed by the records, each written by BinaryCodec.encodeOrder. Blobs live in direct memory or in
+// spill files mapped read-only, so the heap only keeps one buffer reference per segment.
+public class ColdOrderTier {
+    private final Path spillDirectory;
+    private final AtomicReferenceArray<ByteBuffer> blobs;
+
+    private ColdOrderTier(Path spillDirectory, int maxSegments) {
+        this.spillDirectory = spillDirectory;
+        this.blobs = new AtomicReferenceArray<>(maxSegments);
+    }
+
+    // Keep compacted orders in direct (off-heap) memory
+    public static ColdOrderTier offHeap() {
+        return new ColdOrderTier(null, OrderStore.MAX_SEGMENTS);
+    }
+
+    // Keep compacted orders in files under the given directory
+    public static ColdOrderTier spillTo(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        return new ColdOrderTier(directory, OrderStore.MAX_SEGMENTS);
+    }
+
+    boolean contains(int segment) {
+        return blobs.get(segment) != null;
+    }
+
+    // Encode a full segment of orders and make it readable before the caller drops the objects
+    void store(int segment, OrderManager.Order[] orders) {
+        int tableSize = orders.length * 4;
+        ByteBuffer records = ByteBuffer.allocate(Math.max(1024, orders.length * 96));
+        int[] offsets = new int[orders.length];
+        for (int i = 0; i < orders.length; i++) {
+            if (orders[i] == null) {
+                offsets[i] = -1;
+                continue;
+            }
+            while (true) {
+                int start = records.position();
+                try {
+                    BinaryCodec.encodeOrder(orders[i], records);
+                    offsets[i] = tableSize + start;
+                    break;
+                } catch (BufferOverflowException e) {
+                    ByteBuffer bigger = ByteBuffer.allocate(records.capacity() * 2);
+                    records.position(0).limit(start);
+                    bigger.put(records);
+                    records = bigger;
+                }
+            }
+        }
+        records.flip();
+
+        int size = tableSize + records.remaining();
+        ByteBuffer table = ByteBuffer.allocate(tableSize);
+        for (int offset : offsets) {
+            table.putInt(offset);
+        }
+        table.flip();
+
+        blobs.set(segment, spillDirectory != null
+                ? spill(segment, table, records, size)
+                : offHeap(table, records, size));
+    }
+
+    // Decode the order in a slot of a compacted segment, or null if the slot is empty
+    OrderManager.Order get(int segment, int slot) {
+        ByteBuffer blob = blobs.get(segment);
+        if (blob == null) {
+            return null;
+        }
+        int offset = blob.getInt(slot * 4);
+        if (offset < 0) {
+            return null;
+        }
+        ByteBuffer record = blob.duplicate();
+        record.position(offset);
+        return BinaryCodec.decodeOrder(record);
+    }
+
+    private static ByteBuffer offHeap(ByteBuffer table, ByteBuffer records, int size) {
+        ByteBuffer blob = ByteBuffer.allocateDirect(size);
+        blob.put(table).put(records).flip();
+        return blob.asReadOnlyBuffer();
+    }
+
+    private ByteBuffer spill(int segment, ByteBuffer table, ByteBuffer records, int size) {
+        Path file = spillDirectory.resolve("orders-" + segment + ".seg");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            while (table.hasRemaining()) {
+                channel.write(table);
+            }
+            while (records.hasRemaining()) {
+                channel.write(records);
+            }
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        } catch (IOException e) {
+            try {
+                Files.deleteIfExists(file);  // do not leave a half-written segment behind
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package singleton;
+
+import models.Money;
+
+// Immutable view of the restaurant settings. SystemConfig swaps whole snapshots,
+// so a reader that holds one always sees a consistent set of values.
+public final class ConfigSnapshot {
+    private final long deliveryFeeCents;
+    private final String restaurantStatus;
+    private final String restaurantName;
+    private final int maxOrdersPerDay;
+
+    public ConfigSnapshot(long deliveryFeeCents, String restaurantStatus, String restaurantName, int maxOrdersPerDay) {
+        if (deliveryFeeCents < 0 || maxOrdersPerDay < 0) {
+            throw new IllegalArgumentException("Delivery fee and order limit cannot be negative");
+        }
+        this.deliveryFeeCents = deliveryFeeCents;
+        this.restaurantStatus = restaurantStatus;
+        this.restaurantName = restaurantName;
+        this.maxOrdersPerDay = maxOrdersPerDay;
+    }
+
+    public double getDeliveryFee() {
+        return Money.toDollars(deliveryFeeCents);
+    }
+
+    public long getDeliveryFeeCents() {
+        return deliveryFeeCents;
+    }
+
+    public String getRestaurantStatus() {
+        return restaurantStatus;
+    }
+
+    public String getRestaurantName() {
+        return restaurantName;
+    }
+
+    public int getMaxOrdersPerDay() {
+        return maxOrdersPerDay;
+    }
+
+    public boolean isOpen() {
+        return "Open".equalsIgnoreCase(restaurantStatus);
+    }
+}
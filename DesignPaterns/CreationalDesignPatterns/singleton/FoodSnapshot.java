@@ -0,0 +1,29 @@
+package singleton;
+
+import models.Food;
+
+// Stand-in for a Food that was read back from disk - only the name and price survive
+public class FoodSnapshot implements Food {
+    private final String name;
+    private final long priceCents;
+
+    public FoodSnapshot(String name, long priceCents) {
+        this.name = name;
+        this.priceCents = priceCents;
+    }
+
+    @Override
+    public void prepare() {
+        System.out.println("Re-preparing " + name + " from a stored order");
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public long getPriceCents() {
+        return priceCents;
+    }
+}
@@ -0,0 +1,166 @@
+package singleton;
+
+import models.Food;
+import models.Meal;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// Admission layer in front of OrderManager.placeOrder (installed with OrderManager.enableAdmission).
+// Refuses orders while the restaurant is closed and enforces maxOrdersPerDay plus a token-bucket rate limit,
+// all read from the manager's own SystemConfig. The bucket is kept as a single "next free slot" timestamp
+// updated with CAS, so admission never takes a lock. Callers either get an immediate answer or wait at most
+// maxWait, which keeps latency bounded however big the burst is. If placing an admitted order fails, its
+// daily slot and token are given back.
+public class OrderAdmission {
+
+    public enum Mode {
+        REJECT,  // refuse as soon as no token is available
+        WAIT     // wait up to maxWait for a token, then refuse
+    }
+
+    private final OrderManager manager;
+    private final Mode mode;
+    private final long maxWaitMillis;
+    private final long intervalNanos;   // one token per interval
+    private final long burstNanos;      // how far ahead of "now" the bucket may be drawn down
+    private final AtomicLong nextFreeNanos;
+    private final AtomicLong dailyCount = new AtomicLong();  // epoch day in the high 32 bits, count in the low 32
+
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder queued = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+
+    public OrderAdmission(OrderManager manager, double ordersPerSecond, int burst) {
+        this(manager, ordersPerSecond, burst, Mode.REJECT, 0);
+    }
+
+    // mode and maxWaitMillis apply to orders that come in through OrderManager.placeOrder
+    public OrderAdmission(OrderManager manager, double ordersPerSecond, int burst, Mode mode, long maxWaitMillis) {
+        if (ordersPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate and burst must be positive");
+        }
+        this.manager = manager;
+        this.mode = mode;
+        this.maxWaitMillis = maxWaitMillis;
+        this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / ordersPerSecond);
+        this.burstNanos = intervalNanos * (burst - 1);
+        this.nextFreeNanos = new AtomicLong(System.nanoTime());
+    }
+
+    // Place the order if it is admitted, waiting as configured; returns null when it was rejected
+    public OrderManager.Order placeOrder(String customerName, Food food, Meal meal) {
+        return placeOrder(customerName, food, meal, mode, maxWaitMillis);
+    }
+
+    // Place the order if it is admitted; returns null when it was rejected (or the restaurant is closed)
+    public OrderManager.Order placeOrder(String customerName, Food food, Meal meal, Mode mode, long maxWaitMillis) {
+        ConfigSnapshot config = manager.getConfig().snapshot();
+        if (!config.isOpen() || !reserveDailySlot(config.getMaxOrdersPerDay())) {
+            rejected.increment();
+            return null;
+        }
+
+        long wait = reserveToken(mode == Mode.WAIT ? TimeUnit.MILLISECONDS.toNanos(maxWaitMillis) : 0);
+        if (wait < 0) {
+            releaseDailySlot();
+            rejected.increment();
+            return null;
+        }
+        if (wait > 0) {
+            queued.increment();
+            waitNanos.add(wait);
+            long deadline = System.nanoTime() + wait;
+            for (long left = wait; left > 0; left = deadline - System.nanoTime()) {
+                LockSupport.parkNanos(left);
+            }
+        }
+
+        boolean placed = false;
+        try {
+            OrderManager.Order order = manager.place(customerName, food, meal);
+            placed = true;
+            accepted.increment();
+            return order;
+        } finally {
+            if (!placed) {
+                releaseToken();
+                releaseDailySlot();
+            }
+        }
+    }
+
+    // Claim a token; returns how long the caller must wait for it, or -1 if that exceeds maxWait
+    private long reserveToken(long maxWait) {
+        while (true) {
+            long now = System.nanoTime();
+            long next = nextFreeNanos.get();
+            long slot = Math.max(next, now - burstNanos);
+            long wait = slot - now;
+            if (wait > maxWait) {
+                return -1;
+            }
+            if (nextFreeNanos.compareAndSet(next, slot + intervalNanos)) {
+                return Math.max(0, wait);
+            }
+        }
+    }
+
+    // Hand a claimed token back, so the next caller can have it
+    private void releaseToken() {
+        nextFreeNanos.addAndGet(-intervalNanos);
+    }
+
+    private boolean reserveDailySlot(int max) {
+        long today = LocalDate.now().toEpochDay();
+        while (true) {
+            long current = dailyCount.get();
+            long count = (current >>> 32) == today ? (int) current : 0;
+            if (count >= max) {
+                return false;
+            }
+            if (dailyCount.compareAndSet(current, (today << 32) | (count + 1))) {
+                return true;
+            }
+        }
+    }
+
+    private void releaseDailySlot() {
+        long today = LocalDate.now().toEpochDay();
+        while (true) {
+            long current = dailyCount.get();
+            if ((current >>> 32) != today || (int) current == 0) {
+                return;  // the day rolled over in between - nothing to give back
+            }
+            if (dailyCount.compareAndSet(current, current - 1)) {
+                return;
+            }
+        }
+    }
+
+    public long getAcceptedCount() {
+        return accepted.sum();
+    }
+
+    // Orders that had to wait for a token before being accepted
+    public long getQueuedCount() {
+        return queued.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    public long getTotalWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(waitNanos.sum());
+    }
+
+    public int getOrdersAdmittedToday() {
+        long current = dailyCount.get();
+        return (current >>> 32) == LocalDate.now().toEpochDay() ? (int) current : 0;
+    }
+}
@@ -0,0 +1,152 @@
+package singleton;
+
+import models.Money;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Column-oriented copy of order history for reporting.
+// Each field lives in its own primitive array and customer names are dictionary encoded,
+// so filters and aggregates are tight loops over arrays instead of walks over Order objects.
+// Build one with OrderManager.snapshotColumns(); appending is not thread-safe.
+public class OrderColumns {
+    private int size;
+    private int[] ids = new int[1024];
+    private long[] epochMillis = new long[1024];
+    private short[] minuteOfDay = new short[1024];
+    private long[] totalCents = new long[1024];
+    private long[] deliveryFeeCents = new long[1024];
+    private int[] customerCodes = new int[1024];
+
+    private final Map<String, Integer> customerDictionary = new HashMap<>();
+    private final List<String> customerNames = new ArrayList<>();
+
+    public void append(OrderManager.Order order) {
+        if (size == ids.length) {
+            grow();
+        }
+        LocalDateTime time = order.getOrderTime();
+        ids[size] = order.getId();
+        epochMillis[size] = time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        minuteOfDay[size] = (short) (time.getHour() * 60 + time.getMinute());
+        totalCents[size] = order.getTotalCents();
+        deliveryFeeCents[size] = order.getDeliveryFeeCents();
+        customerCodes[size] = encodeCustomer(order.getCustomerName());
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public double getTotalRevenue() {
+        long sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += totalCents[i];
+        }
+        return sum / 100.0;
+    }
+
+    // Revenue of orders placed in a daily time window, e.g. 18:00 to 21:00 (end exclusive).
+    // A window that crosses midnight, e.g. 22:00 to 02:00, covers both ends of the day.
+    public double getRevenueBetween(LocalTime from, LocalTime to) {
+        int start = from.getHour() * 60 + from.getMinute();
+        int end = to.getHour() * 60 + to.getMinute();
+        short[] minutes = minuteOfDay;
+        long[] cents = totalCents;
+        long sum = 0;
+        if (start <= end) {
+            for (int i = 0; i < size; i++) {
+                int m = minutes[i];
+                sum += (m >= start && m < end) ? cents[i] : 0;
+            }
+        } else {
+            for (int i = 0; i < size; i++) {
+                int m = minutes[i];
+                sum += (m >= start || m < end) ? cents[i] : 0;
+            }
+        }
+        return sum / 100.0;
+    }
+
+    // Revenue of orders placed between two instants (end exclusive)
+    public double getRevenueBetween(LocalDateTime from, LocalDateTime to) {
+        long start = from.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        long end = to.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        long[] times = epochMillis;
+        long[] cents = totalCents;
+        long sum = 0;
+        for (int i = 0; i < size; i++) {
+            long t = times[i];
+            sum += (t >= start && t < end) ? cents[i] : 0;
+        }
+        return sum / 100.0;
+    }
+
+    public int countWithDeliveryFeeAbove(double fee) {
+        long threshold = Money.ofDollars(fee);
+        long[] fees = deliveryFeeCents;
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            count += fees[i] > threshold ? 1 : 0;
+        }
+        return count;
+    }
+
+    // Ids of orders whose delivery fee was above the given amount
+    public int[] idsWithDeliveryFeeAbove(double fee) {
+        long threshold = Money.ofDollars(fee);
+        int[] result = new int[countWithDeliveryFeeAbove(fee)];
+        int n = 0;
+        for (int i = 0; i < size; i++) {
+            if (deliveryFeeCents[i] > threshold) {
+                result[n++] = ids[i];
+            }
+        }
+        return result;
+    }
+
+    public double getRevenueForCustomer(String customerName) {
+        Integer code = customerDictionary.get(customerName);
+        if (code == null) {
+            return 0;
+        }
+        int wanted = code;
+        int[] codes = customerCodes;
+        long[] cents = totalCents;
+        long sum = 0;
+        for (int i = 0; i < size; i++) {
+            sum += codes[i] == wanted ? cents[i] : 0;
+        }
+        return sum / 100.0;
+    }
+
+    private int encodeCustomer(String customerName) {
+        if (customerName == null) {
+            return -1;
+        }
+        Integer code = customerDictionary.get(customerName);
+        if (code == null) {
+            code = customerNames.size();
+            customerNames.add(customerName);
+            customerDictionary.put(customerName, code);
+        }
+        return code;
+    }
+
+    private void grow() {
+        int capacity = ids.length * 2;
+        ids = Arrays.copyOf(ids, capacity);
+        epochMillis = Arrays.copyOf(epochMillis, capacity);
+        minuteOfDay = Arrays.copyOf(minuteOfDay, capacity);
+        totalCents = Arrays.copyOf(totalCents, capacity);
+        deliveryFeeCents = Arrays.copyOf(deliveryFeeCents, capacity);
+        customerCodes = Arrays.copyOf(customerCodes, capacity);
+    }
+}
@@ -0,0 +1,260 @@
+package singleton;
+
+import models.Food;
+import models.Meal;
+import models.Money;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+
+// Streams orders to any Writer as plain text, CSV or NDJSON.
+// Each order is assembled in a reused line buffer and copied out through a reused char array,
+// so exporting does not create a String per field. One exporter is meant to be used by one thread.
+public class OrderExporter {
+
+    public enum Format { TEXT, CSV, NDJSON }
+
+    static final DateTimeFormatter TEXT_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+    private static final DateTimeFormatter ISO_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss");
+    private static final String SEPARATOR = "─────────────────────────────────────────";
+    private static final String CSV_HEADER =
+            "id,customer,time,food,food_price,main_dish,side_dish,drink,dessert,delivery_fee,total\n";
+
+    private final Format format;
+    private final StringBuilder line = new StringBuilder(512);
+    private char[] chars = new char[512];
+
+    public OrderExporter(Format format) {
+        this.format = format;
+    }
+
+    // Wrap a byte stream; the caller still owns (and closes) the stream
+    public static Writer writerFor(OutputStream out) {
+        return new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+    }
+
+    public static Writer writerFor(WritableByteChannel channel) {
+        return new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8), 64 * 1024);
+    }
+
+    // Write the CSV header row (no-op for the other formats)
+    public void writeHeader(Writer out) throws IOException {
+        if (format == Format.CSV) {
+            out.write(CSV_HEADER);
+        }
+    }
+
+    // Export up to 'limit' orders with an id greater than 'afterId'.
+    // Returns the cursor for the next page: the id of the last order written, or afterId if none were left.
+    // A page stops at a missing id while orders are still being placed, since that order may be about to
+    // be stored; the next page starts there again. Missing ids are skipped once placement is quiet.
+    public int exportPage(OrderManager manager, Writer out, int afterId, int limit) throws IOException {
+        int cursor = afterId;
+        int written = 0;
+        int lastId = manager.getLastOrderId();
+        for (int id = afterId + 1; id <= lastId && written < limit; id++) {
+            OrderManager.Order order = manager.getOrder(id);
+            if (order == null) {
+                if (manager.isPlacing()) {
+                    break;
+                }
+                order = manager.getOrder(id);  // it may have been stored just before placing went quiet
+            }
+            if (order != null) {
+                write(order, out);
+                cursor = id;
+                written++;
+            }
+        }
+        out.flush();
+        return cursor;
+    }
+
+    // Export every order, page by page; orders still being placed when it reaches them are left out
+    public void exportAll(OrderManager manager, Writer out, int pageSize) throws IOException {
+        writeHeader(out);
+        int cursor = 0;
+        while (true) {
+            int next = exportPage(manager, out, cursor, pageSize);
+            if (next == cursor) {
+                return;
+            }
+            cursor = next;
+        }
+    }
+
+    // Write one order in this exporter's format
+    public void write(OrderManager.Order order, Writer out) throws IOException {
+        line.setLength(0);
+        switch (format) {
+            case TEXT:
+                appendText(order, line);
+                line.append('\n').append(SEPARATOR).append('\n');
+                break;
+            case CSV:
+                appendCsv(order);
+                break;
+            case NDJSON:
+                appendJson(order);
+                break;
+        }
+
+        int length = line.length();
+        if (chars.length < length) {
+            chars = new char[Math.max(length, chars.length * 2)];
+        }
+        line.getChars(0, length, chars, 0);
+        out.write(chars, 0, length);
+    }
+
+    // Human readable block, shared with Order.toString()
+    static void appendText(OrderManager.Order order, StringBuilder sb) {
+        Food food = order.getFood();
+        Meal meal = order.getMeal();
+
+        sb.append("Order #").append(order.getId()).append('\n');
+        sb.append("Customer: ").append(order.getCustomerName()).append('\n');
+        sb.append("Time: ");
+        TEXT_TIME.formatTo(order.getOrderTime(), sb);
+        sb.append('\n');
+
+        if (food != null) {
+            sb.append("Food: ").append(food.getName()).append(" - $");
+            Money.appendTo(sb, food.getPriceCents());
+            sb.append('\n');
+        }
+
+        if (meal != null) {
+            sb.append("Meal:\n").append(meal.getIndentedText()).append('\n');
+        }
+
+        sb.append("Delivery: $");
+        Money.appendTo(sb, order.getDeliveryFeeCents());
+        sb.append('\n');
+        sb.append("Total: $");
+        Money.appendTo(sb, order.getTotalCents());
+    }
+
+    private void appendCsv(OrderManager.Order order) {
+        Food food = order.getFood();
+        Meal meal = order.getMeal();
+
+        line.append(order.getId()).append(',');
+        appendCsvField(order.getCustomerName());
+        line.append(',');
+        ISO_TIME.formatTo(order.getOrderTime(), line);
+        line.append(',');
+        if (food != null) {
+            appendCsvField(food.getName());
+            line.append(',');
+            Money.appendTo(line, food.getPriceCents());
+        } else {
+            line.append(',');
+        }
+        line.append(',');
+        appendCsvField(meal != null ? meal.getMainDish() : null);
+        line.append(',');
+        appendCsvField(meal != null ? meal.getSideDish() : null);
+        line.append(',');
+        appendCsvField(meal != null ? meal.getDrink() : null);
+        line.append(',');
+        appendCsvField(meal != null ? meal.getDessert() : null);
+        line.append(',');
+        Money.appendTo(line, order.getDeliveryFeeCents());
+        line.append(',');
+        Money.appendTo(line, order.getTotalCents());
+        line.append('\n');
+    }
+
+    private void appendJson(OrderManager.Order order) {
+        Food food = order.getFood();
+        Meal meal = order.getMeal();
+
+        line.append("{\"id\":").append(order.getId());
+        line.append(",\"customer\":");
+        appendJsonString(order.getCustomerName());
+        line.append(",\"time\":\"");
+        ISO_TIME.formatTo(order.getOrderTime(), line);
+        line.append('"');
+        if (food != null) {
+            line.append(",\"food\":{\"name\":");
+            appendJsonString(food.getName());
+            line.append(",\"price\":");
+            Money.appendTo(line, food.getPriceCents());
+            line.append('}');
+        }
+        if (meal != null) {
+            line.append(",\"meal\":{\"main_dish\":");
+            appendJsonString(meal.getMainDish());
+            line.append(",\"side_dish\":");
+            appendJsonString(meal.getSideDish());
+            line.append(",\"drink\":");
+            appendJsonString(meal.getDrink());
+            line.append(",\"dessert\":");
+            appendJsonString(meal.getDessert());
+            line.append('}');
+        }
+        line.append(",\"delivery_fee\":");
+        Money.appendTo(line, order.getDeliveryFeeCents());
+        line.append(",\"total\":");
+        Money.appendTo(line, order.getTotalCents());
+        line.append("}\n");
+    }
+
+    private void appendCsvField(String value) {
+        if (value == null) {
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            line.append(value);
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                line.append('"');
+            }
+            line.append(c);
+        }
+        line.append('"');
+    }
+
+    private void appendJsonString(String value) {
+        if (value == null) {
+            line.append("null");
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"': line.append("\\\""); break;
+                case '\\': line.append("\\\\"); break;
+                case '\n': line.append("\\n"); break;
+                case '\r': line.append("\\r"); break;
+                case '\t': line.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        line.append("\\u00");
+                        line.append(Character.forDigit(c >> 4, 16)).append(Character.forDigit(c & 0xF, 16));
+                    } else {
+                        line.append(c);
+                    }
+            }
+        }
+        line.append('"');
+    }
+}
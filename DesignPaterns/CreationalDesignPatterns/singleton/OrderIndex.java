@@ -0,0 +1,151 @@
+package singleton;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+// Secondary indexes over placed orders. Lookup by id needs no index: ids map straight to store slots.
+// Only hot orders are indexed: when the store moves a segment to the cold tier its ids are removed here,
+// so the index stays as small as the hot window (OrderManager scans the cold tier for older matches).
+class OrderIndex {
+    private final ConcurrentHashMap<String, IdList> byCustomer = new ConcurrentHashMap<>();
+    // Keyed by the millisecond the order was placed in (local time), so one node covers a burst of orders
+    private final ConcurrentSkipListMap<Long, IdList> byTime = new ConcurrentSkipListMap<>();
+
+    void add(OrderManager.Order order) {
+        add(byCustomer, customerKey(order.getCustomerName()), order.getId());
+        add(byTime, timeKey(order.getOrderTime()), order.getId());
+    }
+
+    // The id goes in inside the compute, so remove() cannot unlink the list between lookup and append.
+    // ConcurrentSkipListMap.compute is not atomic, so a list emptied by remove() also refuses late adds.
+    private static <K> void add(ConcurrentMap<K, IdList> index, K key, int id) {
+        index.compute(key, (k, ids) -> {
+            if (ids == null || !ids.add(id)) {
+                ids = new IdList();
+                ids.add(id);
+            }
+            return ids;
+        });
+    }
+
+    // Drop the ids of orders that have been moved to the cold tier; nulls (empty slots) are skipped
+    void remove(OrderManager.Order[] demoted) {
+        Map<String, IdSet> customers = new HashMap<>();
+        Map<Long, IdSet> times = new HashMap<>();
+        for (OrderManager.Order order : demoted) {
+            if (order != null) {
+                customers.computeIfAbsent(customerKey(order.getCustomerName()), name -> new IdSet()).add(order.getId());
+                times.computeIfAbsent(timeKey(order.getOrderTime()), millis -> new IdSet()).add(order.getId());
+            }
+        }
+        for (Map.Entry<String, IdSet> entry : customers.entrySet()) {
+            byCustomer.computeIfPresent(entry.getKey(), (name, ids) -> ids.removeAll(entry.getValue()) ? null : ids);
+        }
+        for (Map.Entry<Long, IdSet> entry : times.entrySet()) {
+            byTime.computeIfPresent(entry.getKey(), (millis, ids) -> ids.removeAll(entry.getValue()) ? null : ids);
+        }
+    }
+
+    int customerCount() {
+        return byCustomer.size();
+    }
+
+    int timeKeyCount() {
+        return byTime.size();
+    }
+
+    // Ids of all orders placed by a customer, in placement order
+    int[] idsForCustomer(String customerName) {
+        IdList ids = byCustomer.get(customerKey(customerName));
+        return ids != null ? ids.toArray() : new int[0];
+    }
+
+    // Ids of orders whose time falls in the milliseconds covered by [from, to]; callers filter the edges exactly
+    int[] idsBetween(LocalDateTime from, LocalDateTime to) {
+        IdList result = new IdList();
+        for (IdList ids : byTime.subMap(timeKey(from), true, timeKey(to), true).values()) {
+            result.addAll(ids);
+        }
+        return result.toArray();
+    }
+
+    private static String customerKey(String customerName) {
+        return customerName != null ? customerName : "";
+    }
+
+    private static long timeKey(LocalDateTime time) {
+        return time.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    // Growable int list; writers for the same key are rare enough that a monitor is fine
+    private static class IdList {
+        private int[] ids = new int[4];
+        private int size;
+        private boolean dropped;  // emptied by removeAll and dropped from the index
+
+        // False if the list has already been dropped from the index
+        synchronized boolean add(int id) {
+            if (dropped) {
+                return false;
+            }
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+            return true;
+        }
+
+        void addAll(IdList other) {
+            int[] copy = other.toArray();
+            for (int id : copy) {
+                add(id);
+            }
+        }
+
+        synchronized int[] toArray() {
+            return Arrays.copyOf(ids, size);
+        }
+
+        // Remove the given ids in one pass; returns true if the list is now empty
+        synchronized boolean removeAll(IdSet removed) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                if (!removed.contains(ids[i])) {
+                    ids[kept++] = ids[i];
+                }
+            }
+            size = kept;
+            if (size == 0) {
+                dropped = true;
+                return true;
+            }
+            if (size < ids.length / 4) {
+                ids = Arrays.copyOf(ids, Math.max(4, size * 2));
+            }
+            return false;
+        }
+    }
+
+    // Ids removed together from one key; demoted ids come from one segment, so a sorted array is enough
+    private static class IdSet {
+        private int[] ids = new int[4];
+        private int size;
+
+        void add(int id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+
+        boolean contains(int id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package singleton;
+
+import codec.BinaryCodec;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+// Append-only, memory-mapped write-ahead journal of placed orders.
+//
+// File layout: an 8 byte header (magic + version) followed by records of
+//   [int length][int crc32][payload]
+// where the payload is the order as written by BinaryCodec.encodeOrder, food and decorators included.
+// The length is written last, so a record torn by a crash reads back as length 0 (end of journal)
+// or fails its checksum. Records never cross a region boundary; length -1 means "continue in the next region".
+public class OrderJournal implements Closeable {
+
+    // When appended orders are forced to disk
+    public enum SyncMode {
+        PER_ORDER,        // every placeOrder waits for its record to be flushed
+        EVERY_N_MILLIS,   // a background thread (one shared by all journals) flushes on a fixed interval
+        EVERY_N_ORDERS    // the writer that completes every Nth order flushes
+    }
+
+    private static final int MAGIC = 0x4F52444A;  // "ORDJ"
+    private static final int VERSION = 2;  // 1 held name-and-price food records
+    private static final int HEADER_SIZE = 8;
+    private static final int RECORD_HEADER_SIZE = 8;
+    private static final int NEXT_REGION = -1;
+    static final int REGION_SIZE = 64 * 1024 * 1024;
+
+    private final FileChannel channel;
+    private final SyncMode syncMode;
+    private final long syncInterval;
+    private final ScheduledFuture<?> flushing;
+    private final ThreadLocal<ByteBuffer> scratch = ThreadLocal.withInitial(() -> ByteBuffer.allocate(4096));
+
+    private MappedByteBuffer region;
+    private long regionStart;
+    private long unsyncedOrders;
+
+    private OrderJournal(FileChannel channel, SyncMode syncMode, long syncInterval) {
+        if (syncMode != SyncMode.PER_ORDER && syncInterval <= 0) {
+            throw new IllegalArgumentException("Sync interval must be positive for " + syncMode);
+        }
+        this.channel = channel;
+        this.syncMode = syncMode;
+        this.syncInterval = syncInterval;
+        if (syncMode == SyncMode.EVERY_N_MILLIS) {
+            this.flushing = Flusher.EXECUTOR.scheduleAtFixedRate(this::flushQuietly, syncInterval, syncInterval, TimeUnit.MILLISECONDS);
+        } else {
+            this.flushing = null;
+        }
+    }
+
+    // One daemon thread flushes every EVERY_N_MILLIS journal (a registry may hold one journal per tenant);
+    // created on first use
+    private static final class Flusher {
+        static final ScheduledThreadPoolExecutor EXECUTOR = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread thread = new Thread(r, "order-journal-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        static {
+            EXECUTOR.setRemoveOnCancelPolicy(true);  // closed journals do not linger in the queue
+        }
+    }
+
+    // Open (or create) a journal. syncInterval is milliseconds or orders depending on the mode.
+    public static OrderJournal open(Path file, SyncMode syncMode, long syncInterval) throws IOException {
+        FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            return new OrderJournal(channel, syncMode, syncInterval);
+        } catch (RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    // Read every intact record in order, then position the journal for appending after the last one
+    public synchronized void replay(Consumer<OrderManager.Order> action) throws IOException {
+        if (channel.size() < HEADER_SIZE) {
+            mapRegion(0);
+            region.putInt(MAGIC).putInt(VERSION);
+            return;
+        }
+
+        mapRegion(0);
+        if (region.getInt() != MAGIC || region.getInt() != VERSION) {
+            throw new IOException("Not an order journal (or unsupported version)");
+        }
+
+        CRC32 crc = new CRC32();
+        while (true) {
+            if (region.remaining() < RECORD_HEADER_SIZE) {
+                mapRegion(regionStart + REGION_SIZE);
+                continue;
+            }
+            int start = region.position();
+            int length = region.getInt();
+            if (length == NEXT_REGION) {
+                mapRegion(regionStart + REGION_SIZE);
+                continue;
+            }
+            int checksum = region.getInt();
+            if (length <= 0 || length > region.remaining()) {
+                region.position(start);
+                return;
+            }
+
+            ByteBuffer payload = region.slice();
+            payload.limit(length);
+            crc.reset();
+            crc.update(payload.duplicate());
+            if ((int) crc.getValue() != checksum) {
+                region.position(start);
+                return;
+            }
+            action.accept(BinaryCodec.decodeOrder(payload));
+            region.position(region.position() + length);
+        }
+    }
+
+    // Write an order record; depending on the sync mode this may also force it to disk
+    public void append(OrderManager.Order order) {
+        ByteBuffer record = encode(order);
+        MappedByteBuffer written;
+        boolean flush;
+
+        synchronized (this) {
+            if (region == null) {
+                throw new IllegalStateException("Journal must be replayed before appending");
+            }
+            if (region.remaining() < record.remaining() + 4) {
+                if (region.remaining() >= 4) {
+                    region.putInt(NEXT_REGION);
+                }
+                try {
+                    mapRegion(regionStart + REGION_SIZE);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            int start = region.position();
+            region.position(start + 4);
+            region.put(record);
+            region.putInt(start, record.limit() - 4);
+            written = region;
+
+            unsyncedOrders++;
+            flush = syncMode == SyncMode.PER_ORDER
+                    || (syncMode == SyncMode.EVERY_N_ORDERS && unsyncedOrders >= syncInterval);
+            if (flush) {
+                unsyncedOrders = 0;
+            }
+        }
+
+        // Forcing outside the lock lets other writers keep appending; they get flushed by the same call
+        if (flush) {
+            written.force();
+        }
+    }
+
+    // Force everything appended so far to disk
+    public void sync() {
+        MappedByteBuffer current;
+        synchronized (this) {
+            current = region;
+            unsyncedOrders = 0;
+        }
+        if (current != null) {
+            current.force();
+        }
+    }
+
+    // A failed periodic flush must not cancel the schedule, or the journal would never be flushed again
+    private void flushQuietly() {
+        try {
+            sync();
+        } catch (RuntimeException e) {
+            System.err.println("Order journal flush failed: " + e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (flushing != null) {
+            flushing.cancel(false);
+        }
+        sync();
+        channel.close();
+    }
+
+    // Encode into a per-thread buffer as [crc][payload], leaving room for the length in front
+    private ByteBuffer encode(OrderManager.Order order) {
+        ByteBuffer buffer = scratch.get();
+        while (true) {
+            try {
+                buffer.clear();
+                buffer.position(4);
+                BinaryCodec.encodeOrder(order, buffer);
+                break;
+            } catch (BufferOverflowException e) {
+                buffer = ByteBuffer.allocate(buffer.capacity() * 2);
+                scratch.set(buffer);
+            }
+        }
+        if (buffer.position() + 4 > REGION_SIZE - HEADER_SIZE) {
+            throw new IllegalArgumentException("Order #" + order.getId() + " is too large for the journal");
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 4, buffer.position() - 4);
+        buffer.putInt(0, (int) crc.getValue());
+        buffer.flip();
+        return buffer;
+    }
+
+    private void mapRegion(long start) throws IOException {
+        if (region != null) {
+            region.force();
+        }
+        region = channel.map(FileChannel.MapMode.READ_WRITE, start, REGION_SIZE);
+        regionStart = start;
+    }
+}
@@ -1,40 +1,174 @@
 package singleton;
 
+import inventory.IngredientInventory;
 import models.Meal;
 import models.Food;
+import models.Ingredient;
+import models.Money;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 
 public class OrderManager {
-    private static OrderManager instance;
+    private static final int FIRST_ORDER_ID = 1001;
 
-    private List<Order> orders;
-    private int nextOrderId;
+    private static volatile OrderManager instance;
+
+    private final OrderStore orders;
+    private final AtomicInteger nextOrderId;
+    private final AtomicInteger placing = new AtomicInteger();  // orders that have an id but are not stored yet
+    private final OrderStatistics statistics;
+    private final OrderIndex index;
+    private final SystemConfig config;
+    private volatile OrderJournal journal;
+    private volatile OrderAdmission admission;
+    private volatile IngredientInventory inventory;
 
     private OrderManager() {
-        this.orders = new ArrayList<>();
-        this.nextOrderId = 1001;  // Start from order 1001
+        this(SystemConfig.getInstance());
+    }
+
+    // A separate order store using its own settings (one per restaurant, see TenantRegistry)
+    OrderManager(SystemConfig config) {
+        this.config = config;
+        this.orders = new OrderStore();
+        this.statistics = new OrderStatistics();
+        this.index = new OrderIndex();
+        this.nextOrderId = new AtomicInteger(FIRST_ORDER_ID);  // Start from order 1001
     }
 
     public static OrderManager getInstance() {
         if (instance == null) {
             synchronized (OrderManager.class) {
                 if (instance == null) {
-                    instance = new OrderManager();
+                    OrderManager manager = new OrderManager();
+                    manager.useInventory(IngredientInventory.getInstance());
+                    instance = manager;
                 }
             }
         }
         return instance;
     }
 
-    // Place a new order
+    // Attach a write-ahead journal. Orders already in the file are replayed first,
+    // which restores the order list, the statistics and the next order id.
+    public synchronized void enableJournal(Path file, OrderJournal.SyncMode syncMode, long syncInterval) throws IOException {
+        if (journal != null) {
+            throw new IllegalStateException("Journal is already enabled");
+        }
+        if (orders.size() > 0) {
+            throw new IllegalStateException("Journal must be enabled before any order is placed");
+        }
+
+        OrderJournal opened = OrderJournal.open(file, syncMode, syncInterval);
+        int[] lastId = {FIRST_ORDER_ID - 1};
+        try {
+            opened.replay(order -> {
+                orders.put(order.getId() - FIRST_ORDER_ID, order);
+                statistics.record(order);
+                index.add(order);
+                lastId[0] = Math.max(lastId[0], order.getId());
+            });
+        } catch (IOException | RuntimeException e) {
+            opened.close();
+            throw e;
+        }
+        nextOrderId.set(lastId[0] + 1);
+        journal = opened;
+    }
+
+    // Flush and detach the journal; orders placed afterwards are kept in memory only
+    public synchronized void closeJournal() throws IOException {
+        OrderJournal current = journal;
+        journal = null;
+        if (current != null) {
+            current.close();
+        }
+    }
+
+    // Cap the heap used by stored orders: only about the newest hotOrders stay as objects,
+    // older ones are compacted into the given cold tier in the background and decoded on demand.
+    // Compacted orders also leave the customer and time indexes, so lookups that reach back that far
+    // scan the cold tier.
+    // Compacted orders are stored with BinaryCodec, like the journal, so they come back with their
+    // food's ingredients and decorators.
+    public void enableTiering(int hotOrders, ColdOrderTier coldTier) {
+        orders.enableTiering(hotOrders, coldTier, index::remove);
+    }
+
+    // Run a compaction pass on the calling thread, after any pass already running (used by checks)
+    void awaitCompaction() {
+        orders.compact();
+    }
+
+    // Put an admission layer in front of placeOrder: from now on every order, whoever places it, must be
+    // admitted first. Returns the layer so its counters can be read.
+    public OrderAdmission enableAdmission(double ordersPerSecond, int burst, OrderAdmission.Mode mode, long maxWaitMillis) {
+        OrderAdmission gate = new OrderAdmission(this, ordersPerSecond, burst, mode, maxWaitMillis);
+        admission = gate;
+        return gate;
+    }
+
+    public void disableAdmission() {
+        admission = null;
+    }
+
+    // Take each order's ingredients from this inventory as it is placed, all or nothing; null stops tracking.
+    // The shared instance uses IngredientInventory.getInstance().
+    public void useInventory(IngredientInventory inventory) {
+        this.inventory = inventory;
+    }
+
+    // Place a new order - safe to call from many threads at once. Prints nothing; the caller reports it.
+    // Returns null when the order is refused: while the restaurant is closed, or by admission when enabled.
     public Order placeOrder(String customerName, Food food, Meal meal) {
-        Order order = new Order(nextOrderId++, customerName, food, meal);
-        orders.add(order);
-        System.out.println("Order #" + order.getId() + " placed successfully!");
-        return order;
+        OrderAdmission gate = admission;
+        if (gate != null) {
+            return gate.placeOrder(customerName, food, meal);  // refuses orders while closed and counts them
+        }
+        if (!config.snapshot().isOpen()) {
+            return null;
+        }
+        return place(customerName, food, meal);
+    }
+
+    // Store and record an order without going through admission.
+    // Throws IllegalStateException (and places nothing) if an ingredient of the food is out of stock.
+    Order place(String customerName, Food food, Meal meal) {
+        IngredientInventory stock = inventory;
+        List<Ingredient> ingredients = stock != null ? IngredientInventory.ingredientsOf(food) : null;
+        if (stock != null && !stock.tryReserveAll(ingredients)) {
+            throw new IllegalStateException(food.getName() + " is out of stock");
+        }
+        boolean placed = false;
+        placing.incrementAndGet();  // before taking the id, so isPlacing() covers every id handed out
+        try {
+            int id = nextOrderId.getAndIncrement();
+            Order order = new Order(id, customerName, food, meal, config.getDeliveryFeeCents());
+            OrderJournal currentJournal = journal;
+            if (currentJournal != null) {
+                currentJournal.append(order);  // write-ahead: on disk before it becomes visible
+            }
+            orders.put(id - FIRST_ORDER_ID, order);  // stored before indexing, so every indexed id resolves
+            statistics.record(order);
+            index.add(order);
+            placed = true;
+            return order;
+        } finally {
+            placing.decrementAndGet();
+            if (!placed && stock != null) {
+                stock.releaseAll(ingredients);
+            }
+        }
     }
 
     // Get total number of orders
@@ -42,26 +176,116 @@ public class OrderManager {
         return orders.size();
     }
 
+    // Find an order by its id, or null if there is none
+    public Order getOrder(int id) {
+        return orders.get(id - FIRST_ORDER_ID);
+    }
+
+    // All orders placed by a customer, oldest first
+    public List<Order> findOrdersByCustomer(String customerName) {
+        int[] ids = withColdMatches(index.idsForCustomer(customerName),
+                order -> Objects.equals(order.getCustomerName(), customerName));
+        return resolve(ids, null, null);
+    }
+
+    // All orders placed between two points in time (inclusive), oldest first
+    public List<Order> findOrdersBetween(LocalDateTime from, LocalDateTime to) {
+        int[] ids = withColdMatches(index.idsBetween(from, to),
+                order -> !order.getOrderTime().isBefore(from) && !order.getOrderTime().isAfter(to));
+        return resolve(ids, from, to);
+    }
+
+    // The index only covers hot orders; add the ids of compacted orders that match
+    private int[] withColdMatches(int[] hotIds, Predicate<Order> match) {
+        int[][] ids = {hotIds};
+        int[] count = {hotIds.length};
+        orders.forEachCold(order -> {
+            if (match.test(order)) {
+                if (count[0] == ids[0].length) {
+                    ids[0] = Arrays.copyOf(ids[0], Math.max(8, count[0] * 2));
+                }
+                ids[0][count[0]++] = order.getId();
+            }
+        });
+        return count[0] == hotIds.length ? hotIds : Arrays.copyOf(ids[0], count[0]);
+    }
+
+    // An id can show up twice while its segment is being compacted, so duplicates are skipped
+    private List<Order> resolve(int[] ids, LocalDateTime from, LocalDateTime to) {
+        Arrays.sort(ids);
+        List<Order> result = new ArrayList<>(ids.length);
+        for (int i = 0; i < ids.length; i++) {
+            if (i > 0 && ids[i] == ids[i - 1]) {
+                continue;
+            }
+            Order order = getOrder(ids[i]);
+            if (order == null) {
+                continue;
+            }
+            if (from != null && (order.getOrderTime().isBefore(from) || order.getOrderTime().isAfter(to))) {
+                continue;
+            }
+            result.add(order);
+        }
+        return result;
+    }
+
+    // Visit every stored order in id order
+    public void forEachOrder(Consumer<Order> action) {
+        orders.forEach(action);
+    }
+
+    // Highest order id handed out so far (export cursors run up to it). An order with an id at or
+    // below it may still be on its way into the store; see isPlacing().
+    public int getLastOrderId() {
+        return nextOrderId.get() - 1;
+    }
+
+    // True while some order has been given its id but is not stored yet. When it is false, a missing
+    // id up to a getLastOrderId() read earlier is a gap that will never be filled.
+    boolean isPlacing() {
+        return placing.get() != 0;
+    }
+
     // Get total revenue
     public double getTotalRevenue() {
-        double total = 0;
-        for (Order order : orders) {
-            total += order.getTotalAmount();
-        }
-        return total;
+        return statistics.getTotalRevenue();
+    }
+
+    // Settings this manager prices orders with
+    public SystemConfig getConfig() {
+        return config;
+    }
+
+    // Live aggregates (average ticket, per-customer and per-hour totals)
+    public OrderStatistics getStatistics() {
+        return statistics;
+    }
+
+    OrderIndex getIndex() {
+        return index;
+    }
+
+    // Copy the current order history into a column store for analytics
+    public OrderColumns snapshotColumns() {
+        OrderColumns columns = new OrderColumns();
+        orders.forEach(columns::append);
+        return columns;
     }
 
     // Display all orders
     public void displayAllOrders() {
-        if (orders.isEmpty()) {
+        if (orders.size() == 0) {
             System.out.println("\n No orders yet.");
             return;
         }
 
 
-        for (Order order : orders) {
-            System.out.println(order);
-            System.out.println("─────────────────────────────────────────");
+        try {
+            Writer out = OrderExporter.writerFor(System.out);  // flushed per page, System.out stays open
+            new OrderExporter(OrderExporter.Format.TEXT).exportAll(this, out, 1000);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
 
         System.out.println("\nSTATISTICS:");
@@ -69,32 +293,53 @@ public class OrderManager {
         System.out.println("Total Revenue: $" + String.format("%.2f", getTotalRevenue()));
     }
 
-    // Inner class to represent an order
-    public class Order {
+    // Stream every order to the given writer in the chosen format
+    public void exportOrders(Writer out, OrderExporter.Format format) throws IOException {
+        new OrderExporter(format).exportAll(this, out, 1000);
+    }
+
+    // Nested class to represent an order
+    public static class Order {
         private int id;
         private String customerName;
         private Food food;
         private Meal meal;
         private LocalDateTime orderTime;
-        private double totalAmount;
-        private double deliveryFeeSnapshot;
+        private long totalCents;
+        private long deliveryFeeCents;
 
         public Order(int id, String customerName, Food food, Meal meal) {
+            this(id, customerName, food, meal, SystemConfig.getInstance().getDeliveryFeeCents());
+        }
+
+        Order(int id, String customerName, Food food, Meal meal, long deliveryFeeCents) {
             this.id = id;
             this.customerName = customerName;
             this.food = food;
             this.meal = meal;
             this.orderTime = LocalDateTime.now();
-            this.deliveryFeeSnapshot = SystemConfig.getInstance().getDeliveryFee();
-            this.totalAmount = calculateTotal();
+            this.deliveryFeeCents = deliveryFeeCents;
+            this.totalCents = calculateTotal();
+        }
+
+        // Rebuild an order that was read back from storage
+        public Order(int id, String customerName, Food food, Meal meal,
+              LocalDateTime orderTime, long deliveryFeeCents, long totalCents) {
+            this.id = id;
+            this.customerName = customerName;
+            this.food = food;
+            this.meal = meal;
+            this.orderTime = orderTime;
+            this.deliveryFeeCents = deliveryFeeCents;
+            this.totalCents = totalCents;
         }
 
-        private double calculateTotal() {
-            double total = 0;
+        private long calculateTotal() {
+            long total = 0;
             if (food != null) {
-                total += food.getPrice();
+                total += food.getPriceCents();
             }
-            total += deliveryFeeSnapshot;
+            total += deliveryFeeCents;
             return total;
         }
 
@@ -103,33 +348,41 @@ public class OrderManager {
         }
 
         public double getTotalAmount() {
-            return totalAmount;
+            return Money.toDollars(totalCents);
         }
 
-        @Override
-        public String toString() {
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
-            StringBuilder sb = new StringBuilder();
-            sb.append("Order #").append(id).append("\n");
-            sb.append("Customer: ").append(customerName).append("\n");
-            sb.append("Time: ").append(orderTime.format(formatter)).append("\n");
+        public long getTotalCents() {
+            return totalCents;
+        }
 
-            if (food != null) {
-                sb.append("Food: ").append(food.getName()).append(" - $").append(String.format("%.2f", food.getPrice())).append("\n");
-            }
+        public String getCustomerName() {
+            return customerName;
+        }
 
-            if (meal != null) {
-                sb.append("Meal:\n");
-                String mealStr = meal.toString();
-                String[] lines = mealStr.split("\n");
-                for (String line : lines) {
-                    sb.append("   ").append(line).append("\n");
-                }
-            }
+        public LocalDateTime getOrderTime() {
+            return orderTime;
+        }
+
+        public Food getFood() {
+            return food;
+        }
 
-            sb.append("Delivery: $").append(String.format("%.2f", deliveryFeeSnapshot)).append("\n");
-            sb.append("Total: $").append(String.format("%.2f", totalAmount));
+        public Meal getMeal() {
+            return meal;
+        }
 
+        public double getDeliveryFee() {
+            return Money.toDollars(deliveryFeeCents);
+        }
+
+        public long getDeliveryFeeCents() {
+            return deliveryFeeCents;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder(256);
+            OrderExporter.appendText(this, sb);
             return sb.toString();
         }
     }
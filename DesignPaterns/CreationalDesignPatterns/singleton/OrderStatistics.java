@@ -0,0 +1,72 @@
+package singleton;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Running order aggregates, updated once per placed order.
+// Money is kept in cents so the totals stay exact, and LongAdder keeps concurrent
+// writers from fighting over one counter. Every read is O(1) no matter how many orders exist.
+public class OrderStatistics {
+    private final LongAdder orderCount = new LongAdder();
+    private final LongAdder revenueCents = new LongAdder();
+    private final AtomicLongArray hourlyCounts = new AtomicLongArray(24);
+    private final AtomicLongArray hourlyRevenueCents = new AtomicLongArray(24);
+    private final ConcurrentHashMap<String, CustomerTotals> customers = new ConcurrentHashMap<>();
+
+    // Record a newly placed order
+    void record(OrderManager.Order order) {
+        long cents = order.getTotalCents();
+        int hour = order.getOrderTime().getHour();
+
+        orderCount.increment();
+        revenueCents.add(cents);
+        hourlyCounts.incrementAndGet(hour);
+        hourlyRevenueCents.addAndGet(hour, cents);
+
+        CustomerTotals totals = customers.computeIfAbsent(customerKey(order.getCustomerName()), name -> new CustomerTotals());
+        totals.orders.increment();
+        totals.revenueCents.add(cents);
+    }
+
+    public long getOrderCount() {
+        return orderCount.sum();
+    }
+
+    public double getTotalRevenue() {
+        return revenueCents.sum() / 100.0;
+    }
+
+    public double getAverageTicket() {
+        long count = orderCount.sum();
+        return count == 0 ? 0 : revenueCents.sum() / 100.0 / count;
+    }
+
+    // Orders placed during the given hour of the day (0-23)
+    public long getOrderCountForHour(int hour) {
+        return hourlyCounts.get(hour);
+    }
+
+    public double getRevenueForHour(int hour) {
+        return hourlyRevenueCents.get(hour) / 100.0;
+    }
+
+    public long getOrderCountForCustomer(String customerName) {
+        CustomerTotals totals = customers.get(customerKey(customerName));
+        return totals != null ? totals.orders.sum() : 0;
+    }
+
+    public double getRevenueForCustomer(String customerName) {
+        CustomerTotals totals = customers.get(customerKey(customerName));
+        return totals != null ? totals.revenueCents.sum() / 100.0 : 0;
+    }
+
+    private static String customerKey(String customerName) {
+        return customerName != null ? customerName : "";
+    }
+
+    private static class CustomerTotals {
+        private final LongAdder orders = new LongAdder();
+        private final LongAdder revenueCents = new LongAdder();
+    }
+}
@@ -0,0 +1,191 @@
+package singleton;
+
+import java.io.UncheckedIOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+// Append-only order storage split into fixed-size segments.
+// Every order owns the slot derived from its id, so concurrent writers never touch the same slot
+// and a segment is allocated with a single CAS the first time one of its slots is written.
+// With tiering enabled, full segments that fall out of the hot window are compacted into a
+// ColdOrderTier and their Order objects are released; reads fall through to the cold copy.
+// Compaction runs on a shared background thread, never on the thread placing the order, and a segment
+// the cold tier cannot take (e.g. the spill disk is full) simply stays hot until a later pass.
+// The demotion listener is told which orders left the hot window so indexes can drop them.
+class OrderStore {
+    static final int SEGMENT_SHIFT = 14;
+    static final int SEGMENT_SIZE = 1 << SEGMENT_SHIFT;
+    private static final int SEGMENT_MASK = SEGMENT_SIZE - 1;
+    static final int MAX_SEGMENTS = 1 << 12;  // ~67 million orders
+
+    private final AtomicReferenceArray<AtomicReferenceArray<OrderManager.Order>> segments =
+            new AtomicReferenceArray<>(MAX_SEGMENTS);
+    private final AtomicIntegerArray filled = new AtomicIntegerArray(MAX_SEGMENTS);
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicInteger limit = new AtomicInteger();  // highest written slot + 1
+
+    private volatile ColdOrderTier coldTier;
+    private Consumer<OrderManager.Order[]> demoted = orders -> { };
+    private int hotSegments;
+    private int compactedUpTo;  // segments below this have been looked at by compaction
+    private final AtomicBoolean compactionQueued = new AtomicBoolean();
+
+    // One daemon thread compacts every store (a registry may hold one store per tenant); created on first use
+    private static final class Compactor {
+        static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "order-store-compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Store an order in its slot and publish it to readers
+    void put(int index, OrderManager.Order order) {
+        segmentFor(index).set(index & SEGMENT_MASK, order);
+        limit.accumulateAndGet(index + 1, Math::max);
+        size.incrementAndGet();
+        if (filled.incrementAndGet(index >>> SEGMENT_SHIFT) == SEGMENT_SIZE && coldTier != null) {
+            requestCompaction();
+        }
+    }
+
+    // Queue a compaction pass unless one is already waiting; that pass will see this segment too
+    private void requestCompaction() {
+        if (compactionQueued.compareAndSet(false, true)) {
+            Compactor.EXECUTOR.execute(this::compactQuietly);
+        }
+    }
+
+    private void compactQuietly() {
+        compactionQueued.set(false);  // before the pass, so segments filled during it queue another one
+        try {
+            compact();
+        } catch (RuntimeException e) {
+            System.err.println("Order store compaction failed: " + e);
+        }
+    }
+
+    // Returns the order in the given slot, or null if it was never written
+    OrderManager.Order get(int index) {
+        if (index < 0 || index >= limit.get()) {
+            return null;
+        }
+        int s = index >>> SEGMENT_SHIFT;
+        AtomicReferenceArray<OrderManager.Order> segment = segments.get(s);
+        if (segment != null) {
+            return segment.get(index & SEGMENT_MASK);
+        }
+        ColdOrderTier cold = coldTier;
+        return cold != null ? cold.get(s, index & SEGMENT_MASK) : null;
+    }
+
+    int size() {
+        return size.get();
+    }
+
+    int limit() {
+        return limit.get();
+    }
+
+    // Visits stored orders in slot order; slots still being written by other threads are skipped
+    void forEach(Consumer<OrderManager.Order> action) {
+        int end = limit.get();
+        int segmentCount = (end + SEGMENT_MASK) >>> SEGMENT_SHIFT;
+        for (int s = 0; s < segmentCount; s++) {
+            int count = Math.min(SEGMENT_SIZE, end - (s << SEGMENT_SHIFT));
+            AtomicReferenceArray<OrderManager.Order> segment = segments.get(s);
+            ColdOrderTier cold = coldTier;
+            for (int i = 0; i < count; i++) {
+                OrderManager.Order order = segment != null ? segment.get(i)
+                        : cold != null ? cold.get(s, i) : null;
+                if (order != null) {
+                    action.accept(order);
+                }
+            }
+        }
+    }
+
+    // Visits only the orders that have been moved to the cold tier, decoding each one
+    void forEachCold(Consumer<OrderManager.Order> action) {
+        ColdOrderTier cold = coldTier;
+        if (cold == null) {
+            return;
+        }
+        int end = limit.get();
+        int segmentCount = (end + SEGMENT_MASK) >>> SEGMENT_SHIFT;
+        for (int s = 0; s < segmentCount; s++) {
+            if (segments.get(s) != null || !cold.contains(s)) {
+                continue;
+            }
+            for (int i = 0; i < SEGMENT_SIZE; i++) {
+                OrderManager.Order order = cold.get(s, i);
+                if (order != null) {
+                    action.accept(order);
+                }
+            }
+        }
+    }
+
+    // Keep only the newest hotOrders (rounded up to whole segments) as objects; onDemote gets each
+    // segment's orders right after they stop being readable as objects
+    synchronized void enableTiering(int hotOrders, ColdOrderTier tier, Consumer<OrderManager.Order[]> onDemote) {
+        if (hotOrders <= 0) {
+            throw new IllegalArgumentException("Hot window must hold at least one order");
+        }
+        this.hotSegments = (hotOrders + SEGMENT_MASK) >>> SEGMENT_SHIFT;
+        this.demoted = onDemote;
+        this.coldTier = tier;
+        compact();
+    }
+
+    // Move every full segment that is older than the hot window to the cold tier. Runs on the compactor
+    // thread; checks call it directly to wait for the passes queued so far.
+    synchronized void compact() {
+        int newestSegment = (limit.get() - 1) >> SEGMENT_SHIFT;  // -1 while empty
+        for (int s = compactedUpTo; s <= newestSegment - hotSegments; s++) {
+            AtomicReferenceArray<OrderManager.Order> segment = segments.get(s);
+            if (segment == null || filled.get(s) < SEGMENT_SIZE) {
+                // Empty or still has gaps (e.g. ids lost in a crash) - leave it hot
+                if (s == compactedUpTo && segment == null) {
+                    compactedUpTo++;
+                }
+                continue;
+            }
+
+            OrderManager.Order[] snapshot = new OrderManager.Order[SEGMENT_SIZE];
+            for (int i = 0; i < SEGMENT_SIZE; i++) {
+                snapshot[i] = segment.get(i);
+            }
+            try {
+                coldTier.store(s, snapshot);
+            } catch (UncheckedIOException e) {
+                // Nothing was released - the segment stays hot and the next pass tries again
+                System.err.println("Could not move order segment " + s + " to the cold tier: " + e.getCause());
+                return;
+            }
+            segments.set(s, null);  // readers now fall through to the cold copy
+            demoted.accept(snapshot);
+            if (s == compactedUpTo) {
+                compactedUpTo++;
+            }
+        }
+    }
+
+    private AtomicReferenceArray<OrderManager.Order> segmentFor(int index) {
+        int s = index >>> SEGMENT_SHIFT;
+        if (index < 0 || s >= MAX_SEGMENTS) {
+            throw new IllegalStateException("Order store is full");
+        }
+        AtomicReferenceArray<OrderManager.Order> segment = segments.get(s);
+        if (segment == null) {
+            AtomicReferenceArray<OrderManager.Order> created = new AtomicReferenceArray<>(SEGMENT_SIZE);
+            segment = segments.compareAndSet(s, null, created) ? created : segments.get(s);
+        }
+        return segment;
+    }
+}
@@ -1,18 +1,43 @@
 package singleton;
 
+import models.Money;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+// Restaurant settings. The current values are one immutable ConfigSnapshot in an AtomicReference:
+// reads are a single wait-free load. Every change builds a new snapshot from the one it replaces and
+// publishes it with compare-and-set, so a file reload and a programmatic update can never undo each other.
+//
+// Config file format (java.util.Properties, missing keys keep their current value):
+//   delivery.fee=3.50
+//   restaurant.status=Open
+//   restaurant.name=Delicious Bites
+//   max.orders.per.day=100
 public class SystemConfig {
-    private static SystemConfig instance;
+    private static volatile SystemConfig instance;
 
-    private double deliveryFee;
-    private String restaurantStatus;
-    private String restaurantName;
-    private int maxOrdersPerDay;
+    private final AtomicReference<ConfigSnapshot> current;
+    private WatchService watchService;
 
     private SystemConfig() {
-        this.deliveryFee = 3.50;
-        this.restaurantStatus = "Open";
-        this.restaurantName = "Delicious Bites";
-        this.maxOrdersPerDay = 100;
+        this(new ConfigSnapshot(350, "Open", "Delicious Bites", 100));
+    }
+
+    // Settings for one restaurant hosted next to others (see TenantRegistry)
+    SystemConfig(ConfigSnapshot initial) {
+        this.current = new AtomicReference<>(initial);
     }
 
     public static SystemConfig getInstance() {
@@ -26,19 +51,128 @@ public class SystemConfig {
         return instance;
     }
 
+    // All settings from one moment in time
+    public ConfigSnapshot snapshot() {
+        return current.get();
+    }
+
     public double getDeliveryFee() {
-        return deliveryFee;
+        return snapshot().getDeliveryFee();
+    }
+
+    public long getDeliveryFeeCents() {
+        return snapshot().getDeliveryFeeCents();
     }
 
 
     public String getRestaurantStatus() {
-        return restaurantStatus;
+        return snapshot().getRestaurantStatus();
     }
 
 
     public String getRestaurantName() {
-        return restaurantName;
+        return snapshot().getRestaurantName();
+    }
+
+    public int getMaxOrdersPerDay() {
+        return snapshot().getMaxOrdersPerDay();
     }
 
+    // Replace every setting at once
+    public void update(ConfigSnapshot snapshot) {
+        if (snapshot == null) {
+            throw new IllegalArgumentException("Config snapshot cannot be null");
+        }
+        current.set(snapshot);
+    }
 
+    // Change some settings based on the current ones, e.g.
+    // update(c -> new ConfigSnapshot(c.getDeliveryFeeCents(), "Closed", c.getRestaurantName(), c.getMaxOrdersPerDay()));
+    // The change is retried on the newer snapshot if another update or a reload wins the race.
+    public ConfigSnapshot update(UnaryOperator<ConfigSnapshot> change) {
+        while (true) {
+            ConfigSnapshot base = current.get();
+            ConfigSnapshot next = change.apply(base);
+            if (next == null) {
+                throw new IllegalArgumentException("Config snapshot cannot be null");
+            }
+            if (current.compareAndSet(base, next)) {
+                return next;
+            }
+        }
+    }
+
+    // Read the settings file and swap it in; on any error the old settings stay active
+    public synchronized void loadFrom(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+
+        try {
+            String feeText = properties.getProperty("delivery.fee");
+            String maxOrdersText = properties.getProperty("max.orders.per.day");
+            Long fee = feeText != null ? Money.ofDollars(Double.parseDouble(feeText.trim())) : null;
+            Integer maxOrders = maxOrdersText != null ? Integer.valueOf(maxOrdersText.trim()) : null;
+            // Keys missing from the file keep the values of whichever snapshot is current when the swap happens
+            update(base -> new ConfigSnapshot(
+                    fee != null ? fee : base.getDeliveryFeeCents(),
+                    properties.getProperty("restaurant.status", base.getRestaurantStatus()).trim(),
+                    properties.getProperty("restaurant.name", base.getRestaurantName()).trim(),
+                    maxOrders != null ? maxOrders : base.getMaxOrdersPerDay()));
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Invalid config file " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    // Load the file now and reload it whenever it changes on disk (on a background thread)
+    public synchronized void watch(Path file) throws IOException {
+        if (watchService != null) {
+            throw new IllegalStateException("Already watching a config file");
+        }
+        Path absolute = file.toAbsolutePath();
+        loadFrom(absolute);
+
+        watchService = absolute.getFileSystem().newWatchService();
+        absolute.getParent().register(watchService,
+                StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+
+        WatchService service = watchService;
+        Thread watcher = new Thread(() -> watchLoop(service, absolute), "config-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    // Stop reloading; the current settings stay in effect
+    public synchronized void stopWatching() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+            watchService = null;
+        }
+    }
+
+    private void watchLoop(WatchService service, Path file) {
+        try {
+            while (true) {
+                WatchKey key = service.take();
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (file.getFileName().equals(event.context())) {
+                        changed = true;
+                    }
+                }
+                key.reset();
+                if (changed) {
+                    try {
+                        loadFrom(file);
+                        System.out.println("Configuration reloaded from " + file);
+                    } catch (IOException e) {
+                        System.out.println("Configuration not reloaded: " + e.getMessage());
+                    }
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // watching stopped
+        }
+    }
 }
@@ -0,0 +1,71 @@
+package singleton;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+// One hosted restaurant: its own settings and its own order store
+public class Tenant {
+    private final String restaurantId;
+    private final SystemConfig config;
+    private final OrderManager orders;
+    private volatile long lastAccessNanos;
+    private final AtomicInteger pins = new AtomicInteger();  // work in progress, or -1 once evicted
+
+    Tenant(String restaurantId, ConfigSnapshot settings) {
+        this.restaurantId = restaurantId;
+        this.config = new SystemConfig(settings);
+        this.orders = new OrderManager(config);
+        touch();
+    }
+
+    public String getRestaurantId() {
+        return restaurantId;
+    }
+
+    public SystemConfig getConfig() {
+        return config;
+    }
+
+    public OrderManager getOrders() {
+        return orders;
+    }
+
+    long getLastAccessNanos() {
+        return lastAccessNanos;
+    }
+
+    void touch() {
+        lastAccessNanos = System.nanoTime();
+    }
+
+    // True once the registry has dropped this tenant; look the restaurant up again
+    public boolean isEvicted() {
+        return pins.get() < 0;
+    }
+
+    // Keep the tenant from being evicted until unpin(); fails if it already has been
+    boolean pin() {
+        while (true) {
+            int current = pins.get();
+            if (current < 0) {
+                return false;
+            }
+            if (pins.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    void unpin() {
+        pins.decrementAndGet();
+    }
+
+    // Succeeds only while nothing is pinned, and from then on pin() fails
+    boolean markEvicted() {
+        return pins.compareAndSet(0, -1);
+    }
+
+    // Undo markEvicted(); nothing can have pinned in between
+    void cancelEviction() {
+        pins.set(0);
+    }
+}
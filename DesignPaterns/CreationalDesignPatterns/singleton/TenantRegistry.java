@@ -0,0 +1,241 @@
+package singleton;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+// Hosts many restaurants in one JVM, each with its own SystemConfig and OrderManager.
+// Tenants are loaded on first lookup and dropped again after sitting idle. Lookups go through a
+// ConcurrentHashMap, so different restaurants never wait on a shared lock.
+//
+// Eviction never loses orders. With a journal directory every tenant writes its orders to
+// <directory>/<restaurantId>.journal, so an evicted tenant is replayed from it (orders, statistics and
+// the next order id) when it is looked up again. Without one, only tenants that hold no orders are evicted.
+// Place orders inside withTenant(): a pinned tenant is never evicted. A Tenant kept from get() may be
+// evicted at any time after maxIdle (see Tenant.isEvicted).
+public class TenantRegistry implements AutoCloseable {
+    private final ConcurrentHashMap<String, Tenant> tenants = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, CompletableFuture<Tenant>> loading = new ConcurrentHashMap<>();
+    private final Function<String, ConfigSnapshot> settingsLoader;
+    private final Path journalDirectory;
+    private final OrderJournal.SyncMode syncMode;
+    private final long syncInterval;
+    private ScheduledExecutorService evictor;
+
+    public TenantRegistry(Function<String, ConfigSnapshot> settingsLoader) {
+        this.settingsLoader = settingsLoader;
+        this.journalDirectory = null;
+        this.syncMode = null;
+        this.syncInterval = 0;
+    }
+
+    // Tenants journal their orders under journalDirectory and can be evicted whenever they are idle
+    public TenantRegistry(Function<String, ConfigSnapshot> settingsLoader, Path journalDirectory,
+                          OrderJournal.SyncMode syncMode, long syncInterval) throws IOException {
+        Files.createDirectories(journalDirectory);
+        this.settingsLoader = settingsLoader;
+        this.journalDirectory = journalDirectory;
+        this.syncMode = syncMode;
+        this.syncInterval = syncInterval;
+    }
+
+    // Read each restaurant's settings from <directory>/<restaurantId>.properties
+    public static TenantRegistry fromDirectory(Path directory) {
+        return new TenantRegistry(restaurantId -> {
+            Path file = directory.resolve(restaurantId + ".properties");
+            if (!Files.exists(file)) {
+                throw new IllegalArgumentException("Unknown restaurant: " + restaurantId);
+            }
+            SystemConfig config = new SystemConfig(new ConfigSnapshot(350, "Open", restaurantId, 100));
+            try {
+                config.loadFrom(file);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return config.snapshot();
+        });
+    }
+
+    // The tenant for a restaurant, loading it on first use (or reloading it after eviction).
+    // Fine for reading settings; to place orders use withTenant(), which keeps it from being evicted meanwhile.
+    public Tenant get(String restaurantId) {
+        Tenant tenant = pin(restaurantId);
+        tenant.unpin();
+        return tenant;
+    }
+
+    // Run work against a restaurant's tenant; the tenant cannot be evicted until work returns, e.g.
+    // registry.withTenant("pizzeria", tenant -> tenant.getOrders().placeOrder(name, food, null))
+    public <T> T withTenant(String restaurantId, Function<Tenant, T> work) {
+        Tenant tenant = pin(restaurantId);
+        try {
+            return work.apply(tenant);
+        } finally {
+            tenant.unpin();
+        }
+    }
+
+    private Tenant pin(String restaurantId) {
+        while (true) {
+            Tenant tenant = tenants.get(restaurantId);
+            if (tenant == null) {
+                tenant = loadAndPublish(restaurantId);
+            }
+            if (tenant.pin()) {
+                tenant.touch();
+                return tenant;
+            }
+            Thread.onSpinWait();  // evicted since the lookup - wait for it to leave the map, then load it again
+        }
+    }
+
+    // Loading replays the journal, so it runs outside the tenant map: a slow load never holds up other
+    // restaurants. Threads that want the same restaurant meanwhile wait for that one load instead of
+    // opening the journal a second time.
+    private Tenant loadAndPublish(String restaurantId) {
+        CompletableFuture<Tenant> mine = new CompletableFuture<>();
+        CompletableFuture<Tenant> running = loading.putIfAbsent(restaurantId, mine);
+        if (running != null) {
+            try {
+                return running.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+            }
+        }
+        try {
+            Tenant tenant = tenants.get(restaurantId);  // another load may have finished since the lookup
+            if (tenant == null) {
+                Tenant loaded = load(restaurantId);
+                tenant = tenants.putIfAbsent(restaurantId, loaded);
+                if (tenant == null) {
+                    tenant = loaded;
+                }
+            }
+            mine.complete(tenant);
+            return tenant;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(restaurantId, mine);
+        }
+    }
+
+    public int size() {
+        return tenants.size();
+    }
+
+    // Drop tenants that have not been looked up for at least maxIdle, are not pinned by withTenant()
+    // and whose orders are safe (journaled, or none at all); returns how many were dropped.
+    // A tenant whose journal fails to close is still dropped; the failure is logged and does not stop the rest.
+    public int evictIdle(Duration maxIdle) {
+        long cutoff = System.nanoTime() - maxIdle.toNanos();
+        int evicted = 0;
+        for (Tenant tenant : tenants.values()) {
+            try {
+                if (evict(tenant, cutoff)) {
+                    evicted++;
+                }
+            } catch (RuntimeException e) {
+                System.err.println("Could not evict " + tenant.getRestaurantId() + ": " + e);
+            }
+        }
+        return evicted;
+    }
+
+    private boolean evict(Tenant tenant, long cutoff) {
+        if (!isIdle(tenant, cutoff) || !canEvict(tenant) || !tenant.markEvicted()) {
+            return false;
+        }
+        // Someone may have pinned, placed an order and unpinned between the checks and markEvicted
+        if (!isIdle(tenant, cutoff) || !canEvict(tenant)) {
+            tenant.cancelEviction();
+            return false;
+        }
+        // The journal is closed before the tenant leaves the map, so a reload replays everything it wrote;
+        // lookups meanwhile wait in pin()
+        try {
+            closeJournal(tenant);
+        } catch (UncheckedIOException e) {
+            System.err.println(e.getMessage() + ": " + e.getCause());
+        } finally {
+            tenants.remove(tenant.getRestaurantId(), tenant);
+        }
+        return true;
+    }
+
+    private static boolean isIdle(Tenant tenant, long cutoff) {
+        return tenant.getLastAccessNanos() - cutoff < 0;
+    }
+
+    private boolean canEvict(Tenant tenant) {
+        return journalDirectory != null || tenant.getOrders().getTotalOrders() == 0;
+    }
+
+    private Tenant load(String restaurantId) {
+        Tenant tenant = new Tenant(restaurantId, settingsLoader.apply(restaurantId));
+        if (journalDirectory != null) {
+            try {
+                tenant.getOrders().enableJournal(journalDirectory.resolve(restaurantId + ".journal"), syncMode, syncInterval);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not open the journal of " + restaurantId, e);
+            }
+        }
+        return tenant;
+    }
+
+    private static void closeJournal(Tenant tenant) {
+        try {
+            tenant.getOrders().closeJournal();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not close the journal of " + tenant.getRestaurantId(), e);
+        }
+    }
+
+    // Run evictIdle periodically on a background thread
+    public synchronized void startEviction(Duration maxIdle, Duration period) {
+        if (evictor != null) {
+            throw new IllegalStateException("Eviction is already running");
+        }
+        evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "tenant-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // An exception escaping the task would cancel it, so nothing is let through
+        evictor.scheduleAtFixedRate(() -> {
+            try {
+                evictIdle(maxIdle);
+            } catch (RuntimeException e) {
+                System.err.println("Tenant eviction failed: " + e);
+            }
+        }, period.toMillis(), period.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    // Stop eviction and flush and close every tenant's journal
+    @Override
+    public synchronized void close() {
+        if (evictor != null) {
+            evictor.shutdown();
+            evictor = null;
+        }
+        for (Tenant tenant : tenants.values()) {
+            if (tenants.remove(tenant.getRestaurantId(), tenant)) {
+                try {
+                    closeJournal(tenant);
+                } catch (UncheckedIOException e) {
+                    System.err.println(e.getMessage() + ": " + e.getCause());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package builder;
+
+import models.Meal;
+
+import static checks.Checks.*;
+
+// A preset meal leaves the builder empty whether it was built or served from the cache
+public class MealDirectorCheck {
+    public static void main(String[] args) {
+        MealBuilder builder = new MealBuilder();
+        MealDirector director = new MealDirector(builder);
+
+        Meal first = director.constructKidsMeal("Check Burger");
+        Meal custom = builder.setMainDish("Wrap").build();
+        checkEquals(null, custom.getDrink(), "nothing left over after a cache miss");
+
+        builder.setDrink("Leftover Soda");
+        Meal cached = director.constructKidsMeal("Check Burger");
+        check(cached == first, "preset meal served from the cache");
+        custom = builder.setMainDish("Wrap").build();
+        checkEquals(null, custom.getDrink(), "nothing left over after a cache hit");
+        passed("MealDirectorCheck");
+    }
+}
@@ -0,0 +1,84 @@
+package checks;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.IntConsumer;
+
+// Small helpers shared by the runnable checks under test/ (see scripts/run-checks.sh).
+// A check is a class named *Check with a main method; it throws AssertionError on the first failure.
+public final class Checks {
+    private Checks() {
+    }
+
+    public static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+
+    public static void checkEquals(long expected, long actual, String message) {
+        if (expected != actual) {
+            throw new AssertionError(message + ": expected " + expected + " but was " + actual);
+        }
+    }
+
+    public static void checkEquals(Object expected, Object actual, String message) {
+        if (expected == null ? actual != null : !expected.equals(actual)) {
+            throw new AssertionError(message + ": expected <" + expected + "> but was <" + actual + ">");
+        }
+    }
+
+    // Runs task(threadIndex) on the given number of threads, all released at the same moment,
+    // and rethrows the first failure once every thread has finished
+    public static void runConcurrently(int threads, IntConsumer task) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        Throwable[] failure = new Throwable[1];
+        for (int t = 0; t < threads; t++) {
+            int index = t;
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                    task.accept(index);
+                } catch (Throwable e) {
+                    synchronized (failure) {
+                        if (failure[0] == null) {
+                            failure[0] = e;
+                        }
+                    }
+                }
+            }, "check-worker-" + t);
+            worker.start();
+            workers.add(worker);
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        if (failure[0] != null) {
+            throw new AssertionError("Worker failed: " + failure[0], failure[0]);
+        }
+    }
+
+    // Runs the action with System.out discarded (for code that logs, e.g. failing pipeline stages)
+    public static void quietly(ThrowingRunnable action) throws Exception {
+        PrintStream original = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            action.run();
+        } finally {
+            System.setOut(original);
+        }
+    }
+
+    public interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+
+    public static void passed(String name) {
+        System.out.println("PASS " + name);
+    }
+}
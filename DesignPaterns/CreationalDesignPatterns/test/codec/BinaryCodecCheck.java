@@ -0,0 +1,121 @@
+package codec;
+
+import composite.MenuComponent;
+import composite.Order;
+import factory.MenuCatalog;
+import models.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static checks.Checks.*;
+
+// Encoded foods must stay readable after the catalog drops or renumbers their ingredients, and every
+// food tag must decode inside a menu tree
+public class BinaryCodecCheck {
+    public static void main(String[] args) throws Exception {
+        MenuCatalog catalog = MenuCatalog.current();
+        Ingredient sauce = catalog.getIngredient("Tomato Sauce");
+        Ingredient pepperoni = catalog.getIngredient("Pepperoni");
+        Ingredient olives = catalog.getIngredient("Olives");
+        Pizza pizza = new Pizza(Arrays.asList(sauce, pepperoni, olives));
+
+        ByteBuffer blob = ByteBuffer.allocate(4096);
+        BinaryCodec.encodeFood(pizza, blob);
+        blob.flip();
+
+        Pizza same = (Pizza) BinaryCodec.decodeFood(blob.duplicate());
+        checkEquals(Arrays.asList(sauce, pepperoni, olives), same.getIngredients(), "same catalog: catalog instances");
+        checkEquals(pizza.getPriceCents(), same.getPriceCents(), "same catalog: price");
+
+        // Tomato Sauce leaves the menu and everything after it moves down one id
+        MenuCatalog renumbered = MenuCatalog.parse(ByteBuffer.wrap(withoutSauce(catalog).getBytes(StandardCharsets.UTF_8)), "check");
+        MenuCatalog.install(renumbered);
+        try {
+            Pizza later = (Pizza) BinaryCodec.decodeFood(blob.duplicate());
+            List<Ingredient> ingredients = later.getIngredients();
+            checkEquals(3, ingredients.size(), "ingredients after renumbering");
+            checkEquals("Tomato Sauce", ingredients.get(0).getName(), "dropped ingredient keeps its name");
+            checkEquals(Ingredient.NO_ID, ingredients.get(0).getId(), "dropped ingredient is ad-hoc");
+            check(ingredients.get(1) == renumbered.getIngredient("Pepperoni"), "renumbered ingredient found by name");
+            check(ingredients.get(2) == renumbered.getIngredient("Olives"), "renumbered ingredient found by name");
+            checkEquals(pizza.getPriceCents(), later.getPriceCents(), "price after renumbering");
+        } finally {
+            MenuCatalog.install(catalog);
+        }
+
+        // A menu tree holding a food the codec only knows by name and price
+        Order cart = new Order(7, "Ann");
+        cart.add(new Pizza(Arrays.asList(pepperoni)));
+        cart.add(new Special());
+        ByteBuffer tree = ByteBuffer.allocate(4096);
+        BinaryCodec.encodeComponent(cart, tree);
+        tree.flip();
+        Order decoded = (Order) BinaryCodec.decodeComponent(tree);
+        checkEquals(2, decoded.getItems().size(), "items in the decoded cart");
+        MenuComponent special = decoded.getItems().get(1);
+        checkEquals("Chef's Special", special.getName(), "other food name");
+        checkEquals(1234L, special.getPriceCents(), "other food price");
+        checkEquals(cart.getPriceCents(), decoded.getPriceCents(), "cart total");
+
+        // Only the current format version is read
+        ByteBuffer v1 = ByteBuffer.wrap(new byte[]{1, 1, (byte) 0xBB, 0x05, 1, (byte) (pepperoni.getId() + 1), (byte) 0xC8, 0x01});
+        try {
+            BinaryCodec.decodeFood(v1);
+            throw new AssertionError("a version 1 blob should be refused");
+        } catch (IllegalArgumentException expected) {
+            check(expected.getMessage().contains("version 1"), "unsupported version reported");
+        }
+        passed("BinaryCodecCheck");
+    }
+
+    private static String withoutSauce(MenuCatalog catalog) throws Exception {
+        StringBuilder text = new StringBuilder();
+        String resource = new String(MenuCatalog.class.getResourceAsStream(MenuCatalog.RESOURCE).readAllBytes(), StandardCharsets.UTF_8);
+        for (String line : resource.split("\n")) {
+            if (line.startsWith("V ")) {
+                line = "V " + (catalog.getVersion() + 1);
+            } else if (line.startsWith("I ")) {
+                String[] parts = line.split(" ", 3);
+                int id = Integer.parseInt(parts[1]);
+                if (line.endsWith(" Tomato Sauce")) {
+                    continue;
+                }
+                if (id > 1) {
+                    line = "I " + (id - 1) + " " + parts[2];
+                }
+            }
+            text.append(line).append('\n');
+        }
+        return text.toString();
+    }
+
+    // Both a Food and a MenuComponent, but not one the codec knows
+    private static class Special implements Food, MenuComponent {
+        @Override
+        public void prepare() {
+        }
+
+        @Override
+        public String getName() {
+            return "Chef's Special";
+        }
+
+        @Override
+        public long getPriceCents() {
+            return 1234;
+        }
+
+        @Override
+        public double getPrice() {
+            return Money.toDollars(getPriceCents());
+        }
+
+        @Override
+        public void display(int level) {
+            System.out.println("  ".repeat(level) + getName());
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package composite;
+
+import factory.MenuCatalog;
+import models.*;
+
+import static checks.Checks.*;
+
+// Cached subtotals follow adds, removes and price changes of children at any depth, and a component
+// that can change price belongs to one composite at a time
+public class CompositeTotalsCheck {
+    public static void main(String[] args) {
+        MenuCatalog catalog = MenuCatalog.current();
+        Ingredient olives = catalog.getIngredient("Olives");
+        Ingredient bacon = catalog.getIngredient("Bacon");
+        SimpleItem fries = SimpleItem.ofCents("Check Fries", 300);
+
+        Pizza pizza = new Pizza();
+        Burger burger = new Burger();
+        OrderItem combo = new OrderItem("Check Combo");
+        combo.add(burger);
+        combo.add(fries);
+        Order order = new Order(1, "Ann");
+        order.add(pizza);
+        checkEquals(pizza.getPriceCents(), order.getPriceCents(), "total with one pizza");
+
+        order.add(combo);
+        long total = pizza.getPriceCents() + burger.getPriceCents() + 300;
+        checkEquals(total, order.getPriceCents(), "total after adding a combo");
+
+        pizza.addIngredient(olives);
+        total += olives.getPriceCents();
+        checkEquals(total, order.getPriceCents(), "total after a direct child changed price");
+
+        burger.addIngredient(bacon);
+        total += bacon.getPriceCents();
+        checkEquals(burger.getPriceCents() + 300, combo.getPriceCents(), "combo after its burger changed price");
+        checkEquals(total, order.getPriceCents(), "total after a grandchild changed price");
+
+        order.remove(pizza);
+        total -= pizza.getPriceCents();
+        checkEquals(total, order.getPriceCents(), "total after removing the pizza");
+        pizza.addIngredient(olives);
+        checkEquals(total, order.getPriceCents(), "a removed pizza no longer changes the total");
+
+        // A component with a parent cannot join a second composite, or one of the totals would go stale
+        Order other = new Order(2, "Bob");
+        try {
+            other.add(burger);
+            throw new AssertionError("a burger already in a combo should be refused by another order");
+        } catch (IllegalStateException expected) {
+            checkEquals(0, other.getItems().size(), "refused component not added");
+        }
+        try {
+            order.add(combo);
+            throw new AssertionError("adding the same combo twice should be refused");
+        } catch (IllegalStateException expected) {
+            checkEquals(1, order.getItems().size(), "items after a refused duplicate");
+        }
+
+        // Once removed it can move; immutable leaves may be shared freely
+        other.add(pizza);
+        other.add(fries);
+        checkEquals(pizza.getPriceCents() + 300, other.getPriceCents(), "moved pizza and shared fries");
+        pizza.addIngredient(bacon);
+        checkEquals(pizza.getPriceCents() + 300, other.getPriceCents(), "new order follows the moved pizza");
+        checkEquals(total, order.getPriceCents(), "old order unaffected by the moved pizza");
+        passed("CompositeTotalsCheck");
+    }
+}
@@ -0,0 +1,53 @@
+package composite;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+import static checks.Checks.*;
+
+// renderToString returns the whole receipt, even past the flush size, and never prints any of it
+public class ReceiptRendererCheck {
+    public static void main(String[] args) {
+        Order order = new Order(42, "Big Party");
+        for (int i = 0; i < 400; i++) {
+            order.add(SimpleItem.ofCents("Side #" + i, 199));
+        }
+        order.add(new Custom());
+
+        ByteArrayOutputStream printed = new ByteArrayOutputStream();
+        PrintStream original = System.out;
+        System.setOut(new PrintStream(printed, true));
+        String text;
+        try {
+            text = ReceiptRenderer.receipt().renderToString(order, 0);
+        } finally {
+            System.setOut(original);
+        }
+
+        check(text.length() > 8 * 1024, "receipt bigger than the flush size");
+        check(text.contains("ORDER #42 - Big Party"), "header in the returned text");
+        check(text.contains("Side #0 - $1.99") && text.contains("Side #399 - $1.99"), "every line in the returned text");
+        check(text.contains("Chef's Surprise - $5.00"), "custom component in the returned text");
+        check(text.contains("TOTAL: $801.00"), "footer in the returned text");
+        checkEquals(0, printed.size(), "nothing printed to System.out");
+        passed("ReceiptRendererCheck");
+    }
+
+    // A component the renderer has no template for
+    private static class Custom implements MenuComponent {
+        @Override
+        public String getName() {
+            return "Chef's Surprise";
+        }
+
+        @Override
+        public long getPriceCents() {
+            return 500;
+        }
+
+        @Override
+        public void display(int level) {
+            System.out.println("  ".repeat(level) + getName());
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package factory;
+
+import java.lang.management.ManagementFactory;
+
+// Factory lookups through FoodFactoryRegistry - exact key, other casing and ordinal - against the old
+// FoodFactoryProvider switch, which lower-cased the key and created a new factory per call
+// (run by scripts/bench.sh). Prints ns and bytes allocated per lookup.
+//
+//   FactoryLookupBenchmark [lookups]
+public class FactoryLookupBenchmark {
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private static final String[] EXACT = {"pizza", "burger", "salad"};
+    private static final String[] MIXED = {"Pizza", "BURGER", "Salad"};
+
+    private static long sink;
+
+    public static void main(String[] args) {
+        int lookups = args.length > 0 ? Integer.parseInt(args[0]) : 20_000_000;
+        for (int warmUp = 0; warmUp < 3; warmUp++) {
+            for (int mode = 0; mode < 4; mode++) {
+                run(null, mode, lookups / 10);
+            }
+        }
+        System.out.printf("%d lookups per mode%n", lookups);
+        System.out.printf("%-30s %10s %12s%n", "lookup", "ns/op", "bytes/op");
+        run("registry, exact key", 0, lookups);
+        run("registry, other casing", 1, lookups);
+        run("registry, ordinal", 2, lookups);
+        run("old switch + new factory", 3, lookups);
+        if (sink == 42) {
+            System.out.println(sink);
+        }
+    }
+
+    private static void run(String label, int mode, int lookups) {
+        long allocatedBefore = THREADS.getCurrentThreadAllocatedBytes();
+        long began = System.nanoTime();
+        for (int i = 0; i < lookups; i++) {
+            int type = i % 3;
+            FoodFactory factory;
+            switch (mode) {
+                case 0: factory = FoodFactoryRegistry.get(EXACT[type]); break;
+                case 1: factory = FoodFactoryRegistry.get(MIXED[type]); break;
+                case 2: factory = FoodFactoryRegistry.get(type); break;
+                default: factory = oldGetFactory(MIXED[type]);
+            }
+            sink += System.identityHashCode(factory) & 1;
+        }
+        long elapsed = System.nanoTime() - began;
+        long allocated = THREADS.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        if (label != null) {
+            System.out.printf("%-30s %10.2f %12.2f%n", label, (double) elapsed / lookups, (double) allocated / lookups);
+        }
+    }
+
+    // FoodFactoryProvider.getFactory before the registry
+    private static FoodFactory oldGetFactory(String type) {
+        switch (type.toLowerCase()) {
+            case "pizza": return new PizzaFactory();
+            case "burger": return new BurgerFactory();
+            case "salad": return new SaladFactory();
+            default: throw new IllegalArgumentException("Unknown food type: " + type);
+        }
+    }
+}
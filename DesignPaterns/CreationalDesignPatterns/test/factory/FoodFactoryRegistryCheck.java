@@ -0,0 +1,58 @@
+package factory;
+
+import models.Burger;
+import models.Pizza;
+import models.Salad;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static checks.Checks.*;
+
+// Every food type resolves to one shared factory under any casing and by ordinal; unknown types come
+// back as null from the registry and as IllegalArgumentException from FoodFactoryProvider
+public class FoodFactoryRegistryCheck {
+    public static void main(String[] args) {
+        FoodFactory pizza = FoodFactoryRegistry.get("pizza");
+        check(pizza instanceof PizzaFactory, "pizza factory");
+        check(FoodFactoryRegistry.get("pizza") == pizza, "one shared instance");
+        check(FoodFactoryRegistry.get("PIZZA") == pizza && FoodFactoryRegistry.get("Pizza") == pizza, "any casing");
+        check(FoodFactoryRegistry.get("burger").createFood() instanceof Burger, "burger factory makes burgers");
+        check(FoodFactoryRegistry.get("Salad").createFood() instanceof Salad, "salad factory makes salads");
+        check(pizza.createFood() instanceof Pizza, "pizza factory makes pizzas");
+        check(pizza.createFood() != pizza.createFood(), "a new food every time");
+
+        checkEquals(null, FoodFactoryRegistry.get("sushi"), "unknown type");
+        checkEquals(null, FoodFactoryRegistry.get((String) null), "null type");
+        checkEquals(-1, FoodFactoryRegistry.ordinalOf("sushi"), "ordinal of an unknown type");
+        checkEquals(-1, FoodFactoryRegistry.ordinalOf(null), "ordinal of null");
+
+        // The services file registers the built-ins too; each type is listed once
+        List<FoodFactory> all = FoodFactoryRegistry.all();
+        Set<String> types = new HashSet<>();
+        for (int i = 0; i < all.size(); i++) {
+            FoodFactory factory = all.get(i);
+            check(types.add(factory.getFoodType()), "food type registered twice: " + factory.getFoodType());
+            checkEquals(i, FoodFactoryRegistry.ordinalOf(factory.getFoodType()), "ordinal of " + factory.getFoodType());
+            check(FoodFactoryRegistry.get(i) == factory, "lookup by ordinal " + i);
+            check(FoodFactoryRegistry.get(factory.getFoodType().toUpperCase()) == factory, "upper case " + factory.getFoodType());
+        }
+        check(types.containsAll(Set.of("pizza", "burger", "salad")), "built-in types present: " + types);
+        try {
+            all.clear();
+            throw new AssertionError("the registry list should be read-only");
+        } catch (UnsupportedOperationException expected) {
+        }
+
+        check(FoodFactoryProvider.getFactory("Burger") == FoodFactoryRegistry.get("burger"), "provider delegates");
+        for (String bad : new String[]{"sushi", "", null}) {
+            try {
+                FoodFactoryProvider.getFactory(bad);
+                throw new AssertionError("provider should refuse " + bad);
+            } catch (IllegalArgumentException expected) {
+            }
+        }
+        passed("FoodFactoryRegistryCheck");
+    }
+}
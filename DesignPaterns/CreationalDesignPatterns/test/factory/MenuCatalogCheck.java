@@ -0,0 +1,91 @@
+package factory;
+
+import models.Ingredient;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static checks.Checks.*;
+
+// The bundled menu-catalog.txt lists the same prices the code had hard-coded before the catalog
+// (base prices in Pizza/Burger/Salad, IngredientCatalog, the side/drink/dessert menus in Main), and it
+// parses the same whether it is mapped from the class path or read from a byte array
+public class MenuCatalogCheck {
+    public static void main(String[] args) throws Exception {
+        MenuCatalog catalog = MenuCatalog.loadResource();
+        checkEquals(1L, catalog.getVersion(), "catalog version");
+
+        checkEquals(699L, catalog.getBasePriceCents("pizza"), "pizza base price");
+        checkEquals(499L, catalog.getBasePriceCents("burger"), "burger base price");
+        checkEquals(399L, catalog.getBasePriceCents("Salad"), "salad base price");
+
+        checkIngredients(catalog, "pizza", prices(
+                "Mozzarella Cheese", 150, "Tomato Sauce", 75, "Pepperoni", 200, "Mushrooms", 125,
+                "Bell Peppers", 100, "Onions", 75, "Olives", 100, "Basil", 50, "Extra Cheese", 175));
+        checkIngredients(catalog, "burger", prices(
+                "Beef Patty", 250, "Cheese Slice", 100, "Lettuce", 50, "Tomato", 50, "Onion", 40,
+                "Pickles", 40, "Bacon", 150, "Avocado", 175, "Special Sauce", 75));
+        checkIngredients(catalog, "salad", prices(
+                "Lettuce Mix", 100, "Cherry Tomatoes", 125, "Cucumber", 75, "Carrots", 60, "Feta Cheese", 150,
+                "Grilled Chicken", 250, "Croutons", 75, "Caesar Dressing", 80, "Parmesan Cheese", 125));
+
+        checkEntries(catalog.getSides(), prices(
+                "French Fries", 300, "Onion Rings", 350, "Garlic Bread", 350, "Side Salad", 250), "sides");
+        checkEntries(catalog.getDrinks(), prices(
+                "Coca-Cola", 250, "Pepsi", 250, "Sprite", 250, "Water", 100, "Orange Juice", 300), "drinks");
+        checkEntries(catalog.getDesserts(), prices(
+                "Ice Cream", 350, "Brownie", 400, "Apple Pie", 450), "desserts");
+        checkEquals(3, catalog.getMainMenu().size(), "main menu lines");
+
+        // Ingredient ids are dense, so each one can be looked up by id as well as by name
+        checkEquals(27, catalog.getIngredientCount(), "ingredient count");
+        for (int id = 0; id < catalog.getIngredientCount(); id++) {
+            Ingredient ingredient = catalog.getIngredient(id);
+            checkEquals(id, ingredient.getId(), "id of " + ingredient.getName());
+            check(catalog.getIngredient(ingredient.getName()) == ingredient, "lookup by name " + ingredient.getName());
+        }
+
+        // A heap copy of the same bytes gives the same catalog as the mapped resource
+        byte[] bytes = MenuCatalog.class.getResourceAsStream(MenuCatalog.RESOURCE).readAllBytes();
+        MenuCatalog copy = MenuCatalog.parse(ByteBuffer.wrap(bytes), "check");
+        for (int id = 0; id < catalog.getIngredientCount(); id++) {
+            checkEquals(catalog.getIngredient(id), copy.getIngredient(id), "ingredient " + id + " of a heap copy");
+        }
+        checkEquals(catalog.getMainMenu(), copy.getMainMenu(), "main menu of a heap copy");
+        checkEquals(catalog.getSides(), copy.getSides(), "sides of a heap copy");
+        check(new String(bytes, StandardCharsets.UTF_8).startsWith("# Menu catalog"), "bundled file read");
+        passed("MenuCatalogCheck");
+    }
+
+    private static Map<String, Long> prices(Object... namesAndCents) {
+        Map<String, Long> prices = new LinkedHashMap<>();
+        for (int i = 0; i < namesAndCents.length; i += 2) {
+            prices.put((String) namesAndCents[i], ((Integer) namesAndCents[i + 1]).longValue());
+        }
+        return prices;
+    }
+
+    private static void checkIngredients(MenuCatalog catalog, String foodType, Map<String, Long> expected) {
+        List<Ingredient> ingredients = catalog.getIngredientsForType(foodType);
+        checkEquals(expected.size(), ingredients.size(), foodType + " ingredients");
+        int i = 0;
+        for (Map.Entry<String, Long> price : expected.entrySet()) {
+            Ingredient ingredient = ingredients.get(i++);
+            checkEquals(price.getKey(), ingredient.getName(), foodType + " ingredient " + i);
+            checkEquals((long) price.getValue(), ingredient.getPriceCents(), "price of " + price.getKey());
+        }
+    }
+
+    private static void checkEntries(List<MenuCatalog.Entry> entries, Map<String, Long> expected, String what) {
+        checkEquals(expected.size(), entries.size(), what);
+        int i = 0;
+        for (Map.Entry<String, Long> price : expected.entrySet()) {
+            MenuCatalog.Entry entry = entries.get(i++);
+            checkEquals(price.getKey(), entry.getName(), what + " line " + i);
+            checkEquals((long) price.getValue(), entry.getPriceCents(), "price of " + price.getKey());
+        }
+    }
+}
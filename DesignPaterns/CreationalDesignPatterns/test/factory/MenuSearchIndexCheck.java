@@ -0,0 +1,82 @@
+package factory;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static checks.Checks.*;
+
+// Prefix, per-word and typo-tolerant search over the catalog, and an update that adds, re-prices and
+// removes entries without leaving empty trie nodes behind
+public class MenuSearchIndexCheck {
+    public static void main(String[] args) throws Exception {
+        String text = new String(MenuCatalog.class.getResourceAsStream(MenuCatalog.RESOURCE).readAllBytes(),
+                StandardCharsets.UTF_8);
+        MenuCatalog catalog = parse(text);
+        MenuSearchIndex index = new MenuSearchIndex(catalog);
+        int nodes = index.nodeCount();
+
+        checkEquals(List.of("Mushrooms"), names(index.search("mush", 10)), "prefix of the first word");
+        checkEquals(List.of("Cheese Slice", "Extra Cheese", "Feta Cheese", "Mozzarella Cheese", "Parmesan Cheese"),
+                sorted(index.search("CHEE", 10)), "prefix of any word");
+        checkEquals(List.of("Special Sauce", "Tomato Sauce"), sorted(index.search(" sauce ", 10)), "later words");
+        checkEquals(2, index.search("chee", 2).size(), "limit");
+        checkEquals(0, index.search("peperoni", 10).size(), "exact search has no typo tolerance");
+        checkEquals(List.of("Pepperoni"), names(index.search("peperoni", 10, true)), "one letter missing");
+        checkEquals(List.of("Pepperoni"), names(index.search("pepperomi", 10, true)), "one letter wrong");
+        checkEquals(0, index.search("pepxxoni", 10, true).size(), "two edits away");
+
+        MenuSearchIndex.Match fries = index.search("french", 1).get(0);
+        checkEquals(MenuSearchIndex.SIDE, fries.getKind(), "kind of a side");
+        checkEquals(300, fries.getPriceCents(), "price of a side");
+
+        // A new version drops Onion Rings, re-prices French Fries and adds a drink with unique letters
+        String changed = text.replace("V 1\n", "V 2\n")
+                .replace("S 350 Onion Rings\n", "")
+                .replace("S 300 French Fries", "S 325 French Fries")
+                .replace("D 100 Water\n", "D 100 Water\nD 275 Zzyzx Quench\n");
+        check(!changed.equals(text), "the bundled catalog changed");
+        index.update(parse(changed));
+        checkEquals(index.size(), new MenuSearchIndex(parse(changed)).size(), "entries after the update");
+        checkEquals(List.of("Onion", "Onions"), sorted(index.search("onion", 10)), "removed side no longer found");
+        checkEquals(0, index.search("rings", 10).size(), "removed side not found by its second word");
+        checkEquals(325, index.search("french", 1).get(0).getPriceCents(), "re-priced side");
+        checkEquals(List.of("Zzyzx Quench"), names(index.search("quen", 10)), "added drink");
+        checkEquals(List.of("Zzyzx Quench"), names(index.search("zzyxz", 10, true)), "added drink with a typo");
+
+        // Going back removes every node the added drink created
+        index.update(catalog);
+        checkEquals(0, index.search("zzyzx", 10).size(), "added drink removed again");
+        checkEquals(300, index.search("french", 1).get(0).getPriceCents(), "price restored");
+        checkEquals(List.of("Onion", "Onion Rings", "Onions"), sorted(index.search("onion", 10)), "side restored");
+        checkEquals(nodes, index.nodeCount(), "trie nodes after going back to the original catalog");
+
+        // An unchanged catalog (here: only renumbered) leaves the index as it is
+        String renumbered = text.replace("I 3 pizza 125 Mushrooms", "I 6 pizza 125 Mushrooms")
+                .replace("I 6 pizza 100 Olives", "I 3 pizza 100 Olives");
+        index.update(parse(renumbered));
+        checkEquals(nodes, index.nodeCount(), "trie nodes after a renumbering");
+        checkEquals(List.of("Mushrooms"), names(index.search("mush", 10)), "search after a renumbering");
+        passed("MenuSearchIndexCheck");
+    }
+
+    private static MenuCatalog parse(String text) {
+        return MenuCatalog.parse(ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8)), "check");
+    }
+
+    private static List<String> sorted(List<MenuSearchIndex.Match> matches) {
+        List<String> names = names(matches);
+        Collections.sort(names);
+        return names;
+    }
+
+    private static List<String> names(List<MenuSearchIndex.Match> matches) {
+        List<String> names = new ArrayList<>();
+        for (MenuSearchIndex.Match match : matches) {
+            names.add(match.getName());
+        }
+        return names;
+    }
+}
@@ -0,0 +1,87 @@
+package inventory;
+
+import builder.FoodBuilder;
+import factory.MenuCatalog;
+import models.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static checks.Checks.*;
+
+// A builder never takes stock, stock stays with the right ingredient when a new catalog renumbers it,
+// and racing reservations never take more than there is
+public class IngredientInventoryCheck {
+    private static final int THREADS = 8;
+    private static final int STOCK = 500;
+
+    public static void main(String[] args) throws Exception {
+        abandonedBuilderHoldsNothing();
+        renumberedCatalogKeepsTheStock();
+        concurrentReservationsStopAtZero();
+        passed("IngredientInventoryCheck");
+    }
+
+    private static void abandonedBuilderHoldsNothing() {
+        IngredientInventory inventory = new IngredientInventory();
+        Ingredient mushrooms = MenuCatalog.current().getIngredient("Mushrooms");
+        inventory.setStock(mushrooms, 1);
+
+        new FoodBuilder(new Pizza(), inventory).addIngredient(mushrooms).addIngredient(mushrooms);
+        checkEquals(1, inventory.getStock(mushrooms), "stock after an abandoned builder");
+
+        inventory.setStock(mushrooms, 0);
+        try {
+            new FoodBuilder(new Pizza(), inventory).addIngredient(mushrooms);
+            throw new AssertionError("an ingredient with no stock should be refused");
+        } catch (IllegalStateException expected) {
+            checkEquals(0, inventory.getStock(mushrooms), "stock after a refused ingredient");
+        }
+    }
+
+    // Swap the ids of Mushrooms and Olives in a new catalog version; their stock must follow the name
+    private static void renumberedCatalogKeepsTheStock() throws Exception {
+        MenuCatalog catalog = MenuCatalog.current();
+        IngredientInventory inventory = new IngredientInventory();
+        inventory.setStock(catalog.getIngredient("Mushrooms"), 5);
+        inventory.setStock(catalog.getIngredient("Olives"), 0);
+
+        String text = new String(MenuCatalog.class.getResourceAsStream(MenuCatalog.RESOURCE).readAllBytes(),
+                StandardCharsets.UTF_8);
+        String renumbered = text.replace("V 1\n", "V 2\n")
+                .replace("I 3 pizza 125 Mushrooms", "I 6 pizza 125 Mushrooms")
+                .replace("I 6 pizza 100 Olives", "I 3 pizza 100 Olives");
+        check(!renumbered.equals(text), "the bundled catalog no longer lists Mushrooms at id 3");
+        MenuCatalog swapped = MenuCatalog.parse(ByteBuffer.wrap(renumbered.getBytes(StandardCharsets.UTF_8)), "check");
+        MenuCatalog.install(swapped);
+        try {
+            Ingredient mushrooms = swapped.getIngredient("Mushrooms");
+            checkEquals(6, mushrooms.getId(), "Mushrooms renumbered");
+            checkEquals(5, inventory.getStock(mushrooms), "mushrooms stock after renumbering");
+            checkEquals(0, inventory.getStock(swapped.getIngredient("Olives")), "olives stock after renumbering");
+            check(inventory.tryReserve(mushrooms), "mushrooms still available");
+            checkEquals(4, inventory.getStock(catalog.getIngredient("Mushrooms")), "the old catalog sees the same stock");
+        } finally {
+            MenuCatalog.install(catalog);
+        }
+    }
+
+    private static void concurrentReservationsStopAtZero() throws Exception {
+        IngredientInventory inventory = new IngredientInventory();
+        Ingredient basil = MenuCatalog.current().getIngredient("Basil");
+        inventory.setStock(basil, STOCK);
+        AtomicInteger reserved = new AtomicInteger();
+
+        runConcurrently(THREADS, t -> {
+            for (int i = 0; i < STOCK / 2; i++) {
+                if (inventory.tryReserve(basil)) {
+                    reserved.incrementAndGet();
+                }
+            }
+        });
+
+        checkEquals(STOCK, reserved.get(), "reservations granted");
+        checkEquals(0, inventory.getStock(basil), "basil left");
+    }
+}
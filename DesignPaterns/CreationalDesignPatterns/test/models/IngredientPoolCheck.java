@@ -0,0 +1,41 @@
+package models;
+
+import composite.SimpleItem;
+
+import static checks.Checks.*;
+
+// Ingredient.of and SimpleItem.of share one instance per name and price, and the price list's own
+// ingredient is handed out only when the caller passes the price list in. The pools stop growing at
+// PoolKey.POOL_LIMIT, and without a registered price list the built-in one prices foods.
+public class IngredientPoolCheck {
+    public static void main(String[] args) {
+        PriceList prices = PriceList.current();
+        Ingredient listed = prices.getIngredient(1);
+
+        check(Ingredient.of(listed.getName(), listed.getPrice(), prices) == listed, "price list instance");
+        Ingredient adHoc = Ingredient.of(listed.getName(), listed.getPrice());
+        check(adHoc != listed && adHoc.getId() == Ingredient.NO_ID, "without a price list the pool is used");
+        check(Ingredient.of(listed.getName(), listed.getPrice()) == adHoc, "pooled ingredient reused");
+        check(Ingredient.of(listed.getName(), listed.getPrice() + 1, prices) != listed, "other price, other ingredient");
+
+        check(SimpleItem.of("Lemonade", 2.49) == SimpleItem.ofCents("Lemonade", 249), "pooled side item reused");
+        check(SimpleItem.of("Lemonade", 2.49) != SimpleItem.of("Lemonade", 2.99), "other price, other item");
+        checkEquals(new PoolKey("Fries", 299), new PoolKey("Fries", 299), "pool key equality");
+
+        for (int i = 0; i < PoolKey.POOL_LIMIT; i++) {
+            Ingredient.of("Customer topping " + i, 0.25);
+            SimpleItem.ofCents("Customer side " + i, 25);
+        }
+        Ingredient late = Ingredient.of("Late topping", 0.50);
+        check(Ingredient.of("Late topping", 0.50) != late, "ingredient pool kept growing past its limit");
+        checkEquals(late, Ingredient.of("Late topping", 0.50), "unpooled ingredients are still equal");
+        check(SimpleItem.ofCents("Late side", 50) != SimpleItem.ofCents("Late side", 50), "item pool kept growing past its limit");
+        check(Ingredient.of(listed.getName(), listed.getPrice(), prices) == listed, "price list instance once the pool is full");
+
+        PriceList builtIn = PriceListSource.BUILT_IN;
+        checkEquals(699, builtIn.getBasePriceCents("pizza"), "built-in pizza base price");
+        checkEquals(null, builtIn.getIngredient(0), "built-in list has no catalog ingredients");
+        checkEquals(adHoc, Ingredient.of(listed.getName(), listed.getPrice(), builtIn), "built-in list prices ad-hoc ingredients");
+        passed("IngredientPoolCheck");
+    }
+}
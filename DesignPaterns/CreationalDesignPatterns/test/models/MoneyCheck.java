@@ -0,0 +1,58 @@
+package models;
+
+import composite.Order;
+import composite.SimpleItem;
+import decorator.DiscountCouponDecorator;
+
+import java.util.Collections;
+
+import static checks.Checks.*;
+
+// Dollars round to the nearest cent, percentages round half up, int cents fail instead of wrapping,
+// and sums in cents stay exact where dollars in doubles drift
+public class MoneyCheck {
+    public static void main(String[] args) {
+        checkEquals(1999, Money.ofDollars(19.99), "19.99 is 1999 cents, not 1998");
+        checkEquals(30, Money.ofDollars(0.1 + 0.2), "0.1 + 0.2 dollars");
+        checkEquals(2000, Money.ofDollars(19.995), "half a cent rounds up");
+        checkEquals(-1999, Money.ofDollars(-19.99), "negative amounts");
+        checkEquals(19.99, Money.toDollars(1999), "cents back to dollars");
+
+        checkEquals(150, Money.percentOf(999, 15), "15% of 9.99 is 1.4985, rounded");
+        checkEquals(1, Money.percentOf(1, 50), "half a cent of a percentage rounds up");
+        checkEquals(0, Money.percentOf(1999, 0), "zero percent");
+
+        checkEquals(Integer.MAX_VALUE, Money.toIntCents(Integer.MAX_VALUE), "largest int amount");
+        checkEquals(Integer.MIN_VALUE, Money.toIntCents(Integer.MIN_VALUE), "smallest int amount");
+        for (long cents : new long[]{Integer.MAX_VALUE + 1L, Integer.MIN_VALUE - 1L, Long.MAX_VALUE}) {
+            try {
+                Money.toIntCents(cents);
+                throw new AssertionError(cents + " cents should not fit in an int");
+            } catch (ArithmeticException expected) {
+            }
+        }
+
+        checkEquals("0.05", Money.format(5), "cents only");
+        checkEquals("12.30", Money.format(1230), "trailing zero kept");
+        checkEquals("-0.05", Money.format(-5), "negative cents only");
+        checkEquals("-12.34", Money.format(-1234), "negative amount");
+        checkEquals("-92233720368547758.08", Money.format(Long.MIN_VALUE), "smallest long");
+        checkEquals("92233720368547758.07", Money.format(Long.MAX_VALUE), "largest long");
+        checkEquals("Total: 1.00", Money.appendTo(new StringBuilder("Total: "), 100).toString(), "appends in place");
+
+        // Ten 0.10 items: exact in cents, 0.9999999999999999 when summed as doubles
+        Order order = new Order(1, "Ann");
+        double dollars = 0;
+        for (int i = 0; i < 10; i++) {
+            order.add(SimpleItem.ofCents("Mint " + i, 10));
+            dollars += 0.10;
+        }
+        check(dollars != 1.0, "doubles drift on this sum");
+        checkEquals(100, order.getPriceCents(), "cents stay exact");
+        checkEquals("1.00", Money.format(order.getPriceCents()), "formatted total");
+
+        Pizza pizza = new Pizza(999, Collections.emptyList());
+        checkEquals(999 - 150, new DiscountCouponDecorator(pizza, 15).getPriceCents(), "15% coupon on 9.99");
+        passed("MoneyCheck");
+    }
+}
@@ -0,0 +1,110 @@
+package models;
+
+import composite.MenuComponent;
+import composite.Order;
+import composite.OrderItem;
+import composite.SimpleItem;
+import factory.MenuCatalog;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+
+// Pricing a large composite order in long cents, against summing the same tree in double dollars the
+// way every getPrice() used to (run by scripts/bench.sh). Prints ns per priced item and bytes allocated
+// per pass over the order.
+//
+//   PricingBenchmark [items] [passes]
+public class PricingBenchmark {
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private static long sink;
+
+    public static void main(String[] args) {
+        int items = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int passes = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        Order order = buildOrder(items);
+        OrderItem[] combos = order.getItems().toArray(new OrderItem[0]);
+
+        for (int warmUp = 0; warmUp < 3; warmUp++) {
+            run(null, order, combos, items, passes);
+        }
+        System.out.printf("%d items in %d combos, %d passes%n", items, combos.length, passes);
+        System.out.printf("%-28s %12s %14s%n", "pricing", "ns/item", "bytes/pass");
+        run("long cents, recomputed", order, combos, items, passes);
+        run("long cents, cached total", order, null, items, passes);
+        run("double dollars (before)", order, combos, items, -passes);
+        check(order);
+    }
+
+    // passes < 0 runs the double baseline
+    private static void run(String label, Order order, OrderItem[] invalidate, int items, int passes) {
+        boolean dollars = passes < 0;
+        int count = Math.abs(passes);
+        long allocatedBefore = THREADS.getCurrentThreadAllocatedBytes();
+        long began = System.nanoTime();
+        for (int p = 0; p < count; p++) {
+            if (dollars) {
+                sink += (long) sumDollars(order);
+            } else {
+                if (invalidate != null) {
+                    for (OrderItem combo : invalidate) {
+                        combo.invalidate();  // every combo and the order recompute their subtotal
+                    }
+                }
+                sink += order.getPriceCents();
+            }
+        }
+        long elapsed = System.nanoTime() - began;
+        long allocated = THREADS.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        if (label != null) {
+            System.out.printf("%-28s %12.2f %14d%n", label, (double) elapsed / count / items, allocated / count);
+        }
+    }
+
+    // The old way: every level adds up its children's prices as doubles, with nothing cached
+    private static double sumDollars(MenuComponent component) {
+        List<MenuComponent> children = component instanceof Order ? ((Order) component).getItems()
+                : component instanceof OrderItem ? ((OrderItem) component).getItems() : null;
+        if (children == null) {
+            return component.getPrice();
+        }
+        double total = 0;
+        for (int i = 0; i < children.size(); i++) {
+            total += sumDollars(children.get(i));
+        }
+        return total;
+    }
+
+    private static Order buildOrder(int items) {
+        MenuCatalog catalog = MenuCatalog.current();
+        Ingredient[] toppings = {catalog.getIngredient("Mozzarella Cheese"), catalog.getIngredient("Pepperoni"),
+                catalog.getIngredient("Olives")};
+        Order order = new Order(1, "Bench");
+        OrderItem combo = null;
+        for (int i = 0; i < items; i++) {
+            if (i % 10 == 0) {
+                combo = new OrderItem("Combo " + i / 10);
+                order.add(combo);
+            }
+            if (i % 10 == 0) {
+                combo.add(new Pizza(Arrays.asList(toppings)));
+            } else {
+                combo.add(SimpleItem.ofCents("Side " + (i % 10), 100 + i % 10));
+            }
+        }
+        return order;
+    }
+
+    // Keep the JIT from dropping the work, and make sure both ways priced the same order
+    private static void check(Order order) {
+        long cents = order.getPriceCents();
+        if (Money.ofDollars(sumDollars(order)) != cents) {
+            System.out.println("note: the double sum is off by " + (Money.ofDollars(sumDollars(order)) - cents) + " cents");
+        }
+        if (sink == 42) {
+            System.out.println(sink);
+        }
+    }
+}
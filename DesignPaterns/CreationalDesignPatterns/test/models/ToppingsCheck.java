@@ -0,0 +1,67 @@
+package models;
+
+import factory.MenuCatalog;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static checks.Checks.*;
+
+// Toppings keep the order ingredients were added in, and a compact and a list Toppings holding the
+// same ingredients are equal with the same hash code
+public class ToppingsCheck {
+    public static void main(String[] args) throws Exception {
+        MenuCatalog catalog = MenuCatalog.current();
+        Ingredient first = catalog.getIngredient(1);
+        Ingredient third = catalog.getIngredient(3);
+        Ingredient fifth = catalog.getIngredient(5);
+
+        Toppings ascending = new Toppings(Arrays.asList(first, third, fifth));
+        check(ascending.isCompact(), "ascending catalog ids should stay compact");
+        checkEquals(Arrays.asList(first, third, fifth), ascending.asList(), "ascending order");
+        checkEquals(ascending.asList().hashCode(), ascending.hashCode(), "hash code of the ingredient list");
+
+        Toppings reordered = new Toppings(Arrays.asList(third, first));
+        checkEquals(Arrays.asList(third, first), reordered.asList(), "order the ingredients were added in");
+        check(!reordered.equals(new Toppings(Arrays.asList(first, third))), "a different order is different toppings");
+
+        // Ingredients from an older catalog version are held as a list
+        MenuCatalog newer = MenuCatalog.loadResource();
+        MenuCatalog.install(newer);
+        try {
+            List<Ingredient> same = Arrays.asList(first, third, fifth);
+            Toppings list = new Toppings(same);
+            check(!list.isCompact(), "ingredients of another catalog version need list mode");
+            checkEquals(ascending, list, "compact vs list equality");
+            checkEquals(list, ascending, "list vs compact equality");
+            checkEquals(ascending.hashCode(), list.hashCode(), "compact vs list hash code");
+
+            Toppings newerCompact = new Toppings(Arrays.asList(newer.getIngredient(1), newer.getIngredient(3),
+                    newer.getIngredient(5)));
+            check(newerCompact.isCompact() && newerCompact.getMask() == ascending.getMask(), "same mask in both versions");
+            checkEquals(ascending, newerCompact, "an identical reloaded catalog gives equal toppings");
+            checkEquals(ascending.hashCode(), newerCompact.hashCode(), "hash code across identical catalogs");
+        } finally {
+            MenuCatalog.install(catalog);
+        }
+
+        // The same mask over a catalog that repriced an ingredient means different toppings
+        String text = new String(MenuCatalog.class.getResourceAsStream(MenuCatalog.RESOURCE).readAllBytes(),
+                StandardCharsets.UTF_8);
+        String repriced = text.replace("I 3 pizza 125 Mushrooms", "I 3 pizza 135 Mushrooms");
+        check(!repriced.equals(text), "the bundled catalog no longer lists Mushrooms at id 3");
+        MenuCatalog dearer = MenuCatalog.parse(ByteBuffer.wrap(repriced.getBytes(StandardCharsets.UTF_8)), "check");
+        MenuCatalog.install(dearer);
+        try {
+            Toppings dearerCompact = new Toppings(Arrays.asList(dearer.getIngredient(1), dearer.getIngredient(3),
+                    dearer.getIngredient(5)));
+            check(dearerCompact.getMask() == ascending.getMask(), "same mask after repricing");
+            check(!dearerCompact.equals(ascending), "masks over different prices are not the same toppings");
+        } finally {
+            MenuCatalog.install(catalog);
+        }
+        passed("ToppingsCheck");
+    }
+}
@@ -0,0 +1,138 @@
+package pipeline;
+
+import adapter.DeliveryPlatform;
+import adapter.PaymentProcessor;
+import models.Food;
+import singleton.FoodSnapshot;
+import singleton.OrderManager;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static checks.Checks.*;
+
+// Producers racing on a small ring, with a stage that throws now and then: every order must still
+// reach the last stage, the failures must be counted and close() must return. In the standard chain an
+// order charged before a later stage fails is refunded and never cooked.
+public class OrderPipelineCheck {
+    private static final int PRODUCERS = 4;
+    private static final int ORDERS_PER_PRODUCER = 5_000;
+    private static final int FAIL_EVERY = 97;
+
+    public static void main(String[] args) throws Exception {
+        OrderManager manager = OrderManager.getInstance();
+        AtomicLong kitchen = new AtomicLong();
+        AtomicLong skipped = new AtomicLong();
+        OrderPipeline pipeline = new OrderPipeline(manager, 64, WaitStrategy.yielding())
+                .addStage("payment", (event, endOfBatch) -> {
+                    if (event.getOrder().getId() % FAIL_EVERY == 0) {
+                        throw new IllegalStateException("card declined");
+                    }
+                    event.setPaid(true);
+                })
+                .addStage("kitchen", (event, endOfBatch) -> {
+                    if (event.isPaid()) {
+                        kitchen.incrementAndGet();
+                    } else {
+                        skipped.incrementAndGet();
+                    }
+                })
+                .start();
+
+        int[] failing = new int[1];
+        quietly(() -> {
+            runConcurrently(PRODUCERS, t -> {
+                for (int i = 0; i < ORDERS_PER_PRODUCER; i++) {
+                    pipeline.placeOrder("customer-" + t, null, null, null, null);
+                }
+            });
+            pipeline.close();
+            manager.forEachOrder(order -> failing[0] += order.getId() % FAIL_EVERY == 0 ? 1 : 0);
+        });
+
+        int total = PRODUCERS * ORDERS_PER_PRODUCER;
+        checkEquals(total, pipeline.getCompletedCount(), "events through the last stage");
+        checkEquals(failing[0], pipeline.getFailureCount("payment"), "payment failures");
+        checkEquals(0, pipeline.getFailureCount("kitchen"), "kitchen failures");
+        checkEquals(failing[0], skipped.get(), "failed events skipped by the kitchen");
+        checkEquals(total - failing[0], kitchen.get(), "events cooked");
+
+        interruptedClose(manager);
+        failureAfterPaymentRefunds(manager);
+        passed("OrderPipelineCheck");
+    }
+
+    // close() waits for the stages; an interrupt while it waits ends the wait and stays set
+    private static void interruptedClose(OrderManager manager) throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        OrderPipeline pipeline = new OrderPipeline(manager, 8, WaitStrategy.yielding())
+                .addStage("slow", (event, endOfBatch) -> {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                })
+                .start();
+        quietly(() -> pipeline.placeOrder("Ann", null, null, null, null));
+
+        Thread.currentThread().interrupt();
+        pipeline.close();
+        check(Thread.interrupted(), "close() should restore the interrupt flag");
+
+        release.countDown();
+        pipeline.close();
+        checkEquals(1, pipeline.getCompletedCount(), "events through the slow stage");
+    }
+
+    private static void failureAfterPaymentRefunds(OrderManager manager) throws Exception {
+        AtomicLong charged = new AtomicLong();
+        AtomicLong refunded = new AtomicLong();
+        AtomicLong cooked = new AtomicLong();
+        PaymentProcessor card = new PaymentProcessor() {
+            public boolean processPayment(String customerName, double amount) {
+                charged.incrementAndGet();
+                return true;
+            }
+
+            public String getPaymentMethod() {
+                return "Check Card";
+            }
+
+            public boolean refund(String transactionId, double amount) {
+                refunded.incrementAndGet();
+                return true;
+            }
+        };
+        DeliveryPlatform down = new DeliveryPlatform() {
+            public boolean publishMenuItem(Food food) {
+                return true;
+            }
+
+            public boolean acceptOrder(String orderId, double amount) {
+                throw new IllegalStateException("platform unreachable");
+            }
+
+            public String getPlatformName() {
+                return "Down";
+            }
+        };
+        Food food = new FoodSnapshot("Check Pizza", 1000) {
+            @Override
+            public void prepare() {
+                cooked.incrementAndGet();
+            }
+        };
+
+        OrderPipeline pipeline = OrderPipeline.standard(manager, 8, WaitStrategy.yielding());
+        quietly(() -> {
+            pipeline.placeOrder("Ann", food, null, card, down);
+            pipeline.placeOrder("Bob", food, null, card, null);
+            pipeline.close();
+        });
+        checkEquals(2, charged.get(), "orders charged");
+        checkEquals(1, pipeline.getFailureCount("platform"), "platform failures");
+        checkEquals(1, refunded.get(), "charges refunded after the platform failed");
+        checkEquals(1, cooked.get(), "only the order that reached the platform is cooked");
+    }
+}
@@ -0,0 +1,56 @@
+package prototype;
+
+import factory.MenuCatalog;
+import inventory.IngredientInventory;
+import models.*;
+
+import java.util.List;
+
+import static checks.Checks.*;
+
+// Ordering a preset returns an independent copy: customizing it leaves the preset and every other
+// copy untouched. A preset whose ingredient has run out cannot be ordered.
+public class FoodPresetsCheck {
+    public static void main(String[] args) {
+        Pizza first = (Pizza) FoodPresets.order("Pepperoni Pizza");
+        Pizza second = (Pizza) FoodPresets.order("pepperoni pizza");
+        check(first != second, "each order is a new copy");
+        List<Ingredient> recipe = List.copyOf(second.getIngredients());
+        long price = second.getPriceCents();
+        checkEquals(first.getPriceCents(), price, "copies of one preset cost the same");
+
+        Ingredient olives = MenuCatalog.current().getIngredient("Olives");
+        first.addIngredient(olives);
+        checkEquals(recipe.size() + 1, first.getIngredients().size(), "customized copy");
+        checkEquals(price + olives.getPriceCents(), first.getPriceCents(), "price of the customized copy");
+        checkEquals(recipe, second.getIngredients(), "other copy after customizing the first");
+        checkEquals(price, second.getPriceCents(), "price of the other copy");
+
+        Pizza third = (Pizza) FoodPresets.order("pepperoni pizza");
+        checkEquals(recipe, third.getIngredients(), "a copy made after customizing another one");
+        checkEquals(price, third.getPriceCents(), "preset price after customizing a copy");
+
+        Salad salad = (Salad) FoodPresets.order("greek salad");
+        salad.addIngredient(MenuCatalog.current().getIngredient("Croutons"));
+        checkEquals(4, ((Salad) FoodPresets.order("greek salad")).getIngredients().size(), "greek salad preset");
+
+        IngredientInventory inventory = IngredientInventory.getInstance();
+        Ingredient pepperoni = MenuCatalog.current().getIngredient("Pepperoni");
+        inventory.setStock(pepperoni, 0);
+        try {
+            FoodPresets.order("pepperoni pizza");
+            throw new AssertionError("a preset without stock should be refused");
+        } catch (IllegalStateException expected) {
+            check(FoodPresets.order("margherita pizza") != null, "other presets can still be ordered");
+        } finally {
+            inventory.untrack(pepperoni);
+        }
+
+        try {
+            FoodPresets.order("no such dish");
+            throw new AssertionError("an unknown preset should be refused");
+        } catch (IllegalArgumentException expected) {
+        }
+        passed("FoodPresetsCheck");
+    }
+}
@@ -0,0 +1,63 @@
+package singleton;
+
+import models.Food;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static checks.Checks.*;
+
+// Admission sits in front of OrderManager.placeOrder: under contention exactly maxOrdersPerDay orders
+// get in, and an order that fails while being placed gives its daily slot back
+public class OrderAdmissionCheck {
+    private static final int THREADS = 8;
+    private static final int ATTEMPTS_PER_THREAD = 500;
+    private static final int MAX_PER_DAY = 1000;
+
+    public static void main(String[] args) throws Exception {
+        dailyLimitUnderContention();
+        failedPlacementGivesSlotBack();
+        passed("OrderAdmissionCheck");
+    }
+
+    private static void dailyLimitUnderContention() throws Exception {
+        OrderManager manager = new OrderManager(new SystemConfig(new ConfigSnapshot(350, "Open", "Check", MAX_PER_DAY)));
+        OrderAdmission admission = manager.enableAdmission(1_000_000, 1_000_000, OrderAdmission.Mode.REJECT, 0);
+        Food food = new FoodSnapshot("Check Salad", 700);
+        AtomicInteger placed = new AtomicInteger();
+
+        runConcurrently(THREADS, t -> {
+            for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                if (manager.placeOrder("customer-" + t, food, null) != null) {
+                    placed.incrementAndGet();
+                }
+            }
+        });
+
+        checkEquals(MAX_PER_DAY, placed.get(), "orders let in");
+        checkEquals(MAX_PER_DAY, manager.getTotalOrders(), "orders stored");
+        checkEquals(MAX_PER_DAY, admission.getAcceptedCount(), "accepted count");
+        checkEquals(THREADS * ATTEMPTS_PER_THREAD - MAX_PER_DAY, admission.getRejectedCount(), "rejected count");
+    }
+
+    private static void failedPlacementGivesSlotBack() throws Exception {
+        OrderManager manager = new OrderManager(new SystemConfig(new ConfigSnapshot(350, "Open", "Check", 1)));
+        OrderAdmission admission = manager.enableAdmission(1, 1, OrderAdmission.Mode.REJECT, 0);
+        Food broken = new FoodSnapshot("Broken", 0) {
+            @Override
+            public long getPriceCents() {
+                throw new IllegalStateException("price lookup failed");
+            }
+        };
+        try {
+            manager.placeOrder("Ann", broken, null);
+            throw new AssertionError("placing the broken food should have failed");
+        } catch (IllegalStateException expected) {
+            // the slot and the token must have been given back
+        }
+        checkEquals(0, admission.getOrdersAdmittedToday(), "daily slots held after the failure");
+
+        check(manager.placeOrder("Ann", new FoodSnapshot("Check Pizza", 999), null) != null,
+                "the only slot of the day was lost to the failed order");
+        checkEquals(1, admission.getAcceptedCount(), "accepted count");
+    }
+}
@@ -0,0 +1,26 @@
+package singleton;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+import static checks.Checks.*;
+
+// Daily revenue windows, including ones that wrap around midnight
+public class OrderColumnsCheck {
+    public static void main(String[] args) {
+        OrderColumns columns = new OrderColumns();
+        LocalDate day = LocalDate.of(2026, 3, 14);
+        int[] hours = {0, 1, 2, 12, 18, 21, 22, 23};
+        for (int i = 0; i < hours.length; i++) {
+            LocalDateTime time = day.atTime(hours[i], 30);
+            columns.append(new OrderManager.Order(1001 + i, "Ann", null, null, time, 0, 100));
+        }
+
+        checkEquals(1.00, columns.getRevenueBetween(LocalTime.of(18, 0), LocalTime.of(21, 0)), "18:00-21:00");
+        checkEquals(5.00, columns.getRevenueBetween(LocalTime.of(22, 0), LocalTime.of(3, 0)), "22:00-03:00 across midnight");
+        checkEquals(2.00, columns.getRevenueBetween(LocalTime.of(23, 0), LocalTime.of(1, 0)), "23:00-01:00 across midnight");
+        checkEquals(0.00, columns.getRevenueBetween(LocalTime.of(12, 0), LocalTime.of(12, 0)), "empty window");
+        passed("OrderColumnsCheck");
+    }
+}
@@ -0,0 +1,135 @@
+package singleton;
+
+import models.Food;
+import models.Meal;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static checks.Checks.*;
+
+// Pages pick up where the last one stopped, customer names are escaped for CSV and JSON, and paging
+// while orders are still being placed exports every order exactly once
+public class OrderExporterCheck {
+    private static final int PRODUCERS = 4;
+    private static final int ORDERS_PER_PRODUCER = 20_000;
+    private static final int PAGE_SIZE = 100;
+
+    public static void main(String[] args) throws Exception {
+        paging();
+        escaping();
+        pagingWhileOrdersArrive();
+        passed("OrderExporterCheck");
+    }
+
+    private static OrderManager manager() {
+        return new OrderManager(new SystemConfig(new ConfigSnapshot(350, "Open", "Check", Integer.MAX_VALUE)));
+    }
+
+    private static void paging() throws Exception {
+        OrderManager manager = manager();
+        for (int i = 0; i < 25; i++) {
+            manager.placeOrder("Ann", new FoodSnapshot("Dish " + i, 500), null);
+        }
+        OrderExporter exporter = new OrderExporter(OrderExporter.Format.CSV);
+        StringWriter out = new StringWriter();
+        checkEquals(1010, exporter.exportPage(manager, out, 0, 10), "cursor after the first page");
+        checkEquals(1020, exporter.exportPage(manager, out, 1010, 10), "cursor after the second page");
+        checkEquals(1025, exporter.exportPage(manager, out, 1020, 10), "cursor after the short last page");
+        checkEquals(1025, exporter.exportPage(manager, out, 1025, 10), "cursor once everything is exported");
+        checkEquals(25, ids(out.toString()).size(), "rows over all pages");
+        checkEquals(ids(out.toString()), ids(exportAll(manager, OrderExporter.Format.CSV, 7)), "exportAll rows");
+    }
+
+    private static void escaping() throws Exception {
+        OrderManager manager = manager();
+        String name = "O'Brien, \"Jr\"\nline\\two\ttab\u0001";
+        Meal meal = new Meal("Pizza, large", null, "Cola", null);
+        manager.placeOrder(name, new FoodSnapshot("Pie \"Deluxe\"", 1234), meal);
+
+        String csv = exportAll(manager, OrderExporter.Format.CSV, 10);
+        check(csv.startsWith("id,customer,time,food,"), "CSV header");
+        check(csv.contains("\n1001,\"O'Brien, \"\"Jr\"\"\nline\\two\ttab\u0001\","), "quoted CSV customer: " + csv);
+        check(csv.contains(",\"Pie \"\"Deluxe\"\"\",12.34,\"Pizza, large\",,Cola,,3.50,15.84\n"), "CSV food and meal: " + csv);
+
+        String json = exportAll(manager, OrderExporter.Format.NDJSON, 10);
+        check(json.contains("\"customer\":\"O'Brien, \\\"Jr\\\"\\nline\\\\two\\ttab\\u0001\""), "escaped JSON customer: " + json);
+        check(json.contains("\"food\":{\"name\":\"Pie \\\"Deluxe\\\"\",\"price\":12.34}"), "JSON food: " + json);
+        check(json.contains("\"side_dish\":null"), "missing meal part is null in JSON");
+        checkEquals(1, json.split("\n").length, "one line per order");
+    }
+
+    // One thread pages through the orders while the others place them; a page must never step past
+    // an order that has its id but is not stored yet
+    private static void pagingWhileOrdersArrive() throws Exception {
+        OrderManager manager = manager();
+        Food food = new FoodSnapshot("Check Burger", 850);
+        AtomicInteger producing = new AtomicInteger(PRODUCERS);
+        List<Integer> exported = new ArrayList<>();
+
+        runConcurrently(PRODUCERS + 1, t -> {
+            try {
+                if (t < PRODUCERS) {
+                    for (int i = 0; i < ORDERS_PER_PRODUCER; i++) {
+                        manager.placeOrder("customer-" + t, food, null);
+                        if (i % 64 == 0) {
+                            Thread.yield();
+                        }
+                    }
+                    producing.decrementAndGet();
+                    return;
+                }
+                OrderExporter exporter = new OrderExporter(OrderExporter.Format.NDJSON);
+                int cursor = 0;
+                while (true) {
+                    boolean finished = producing.get() == 0;
+                    StringWriter out = new StringWriter();
+                    int next = exporter.exportPage(manager, out, cursor, PAGE_SIZE);
+                    exported.addAll(jsonIds(out.toString()));
+                    if (next == cursor && finished) {
+                        return;
+                    }
+                    cursor = next;
+                }
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+
+        int total = PRODUCERS * ORDERS_PER_PRODUCER;
+        checkEquals(total, exported.size(), "orders exported");
+        for (int i = 0; i < exported.size(); i++) {
+            checkEquals(1001 + i, (long) exported.get(i), "order exported in position " + i);
+        }
+    }
+
+    private static String exportAll(OrderManager manager, OrderExporter.Format format, int pageSize) throws Exception {
+        StringWriter out = new StringWriter();
+        new OrderExporter(format).exportAll(manager, out, pageSize);
+        return out.toString();
+    }
+
+    // First field of every CSV row that starts with an order id
+    private static List<Integer> ids(String csv) {
+        List<Integer> ids = new ArrayList<>();
+        for (String row : csv.split("\n")) {
+            int comma = row.indexOf(',');
+            if (comma > 0 && Character.isDigit(row.charAt(0))) {
+                ids.add(Integer.parseInt(row.substring(0, comma)));
+            }
+        }
+        return ids;
+    }
+
+    private static List<Integer> jsonIds(String ndjson) {
+        List<Integer> ids = new ArrayList<>();
+        for (String row : ndjson.split("\n")) {
+            if (row.startsWith("{\"id\":")) {
+                ids.add(Integer.parseInt(row.substring(6, row.indexOf(','))));
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,65 @@
+package singleton;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static checks.Checks.*;
+
+// Adding to a key while remove() empties it must never lose the new id: one thread keeps adding orders
+// of the same customer and millisecond, another keeps removing everything added so far. Each id must be
+// found right after it is added, before the remover may take it out again.
+public class OrderIndexCheck {
+    private static final int ROUNDS = 200;
+    private static final int ORDERS_PER_ROUND = 500;
+
+    public static void main(String[] args) throws Exception {
+        LocalDateTime time = LocalDateTime.of(2024, 5, 1, 19, 30);
+        for (int round = 0; round < ROUNDS; round++) {
+            OrderIndex index = new OrderIndex();
+            OrderManager.Order[] orders = new OrderManager.Order[ORDERS_PER_ROUND];
+            for (int i = 0; i < orders.length; i++) {
+                orders[i] = new OrderManager.Order(i + 1, "Ann", new FoodSnapshot("Soup", 500), null, time, 0, 500);
+            }
+            AtomicInteger added = new AtomicInteger();
+            int[] removedUpTo = {0};
+
+            runConcurrently(2, t -> {
+                if (t == 0) {
+                    for (int i = 0; i < orders.length; i++) {
+                        index.add(orders[i]);
+                        int id = orders[i].getId();
+                        check(contains(index.idsForCustomer("Ann"), id), "order #" + id + " lost from the customer index");
+                        check(contains(index.idsBetween(time, time), id), "order #" + id + " lost from the time index");
+                        added.set(i + 1);
+                    }
+                } else {
+                    while (removedUpTo[0] < orders.length) {
+                        int upTo = added.get();
+                        if (upTo > removedUpTo[0]) {
+                            index.remove(Arrays.copyOfRange(orders, removedUpTo[0], upTo));
+                            removedUpTo[0] = upTo;
+                        } else {
+                            Thread.yield();
+                        }
+                    }
+                }
+            });
+
+            checkEquals(0, index.idsForCustomer("Ann").length, "customer ids left after removing every order");
+            checkEquals(0, index.idsBetween(time, time).length, "time ids left after removing every order");
+            checkEquals(0, index.customerCount(), "customer keys left");
+            checkEquals(0, index.timeKeyCount(), "time keys left");
+        }
+        passed("OrderIndexCheck");
+    }
+
+    private static boolean contains(int[] ids, int id) {
+        for (int candidate : ids) {
+            if (candidate == id) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
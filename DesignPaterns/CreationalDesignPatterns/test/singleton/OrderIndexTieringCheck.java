@@ -0,0 +1,99 @@
+package singleton;
+
+import models.Food;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static checks.Checks.*;
+
+// With tiering on, the customer and time indexes must shrink back to the hot window while lookups
+// still find every order, including the compacted ones. A cold tier that cannot spill leaves the
+// orders hot instead of losing them.
+public class OrderIndexTieringCheck {
+    private static final int THREADS = 4;
+    private static final int ORDERS_PER_THREAD = OrderStore.SEGMENT_SIZE;  // four segments in total
+    private static final String[] CUSTOMERS = {"Ann", "Bob", "Cleo"};
+
+    public static void main(String[] args) throws Exception {
+        LocalDateTime start = LocalDateTime.now().minusSeconds(1);
+        OrderManager manager = new OrderManager(SystemConfig.getInstance());
+        manager.enableTiering(1, ColdOrderTier.offHeap());
+        Food food = new FoodSnapshot("Check Burger", 850);
+
+        runConcurrently(THREADS, t -> {
+            for (int i = 0; i < ORDERS_PER_THREAD; i++) {
+                manager.placeOrder(CUSTOMERS[i % CUSTOMERS.length], food, null);
+                if (i % 4096 == 0) {
+                    manager.findOrdersByCustomer(CUSTOMERS[t % CUSTOMERS.length]);
+                }
+            }
+        });
+
+        manager.awaitCompaction();
+
+        int total = THREADS * ORDERS_PER_THREAD;
+        OrderIndex index = manager.getIndex();
+        int hotLimit = 2 * OrderStore.SEGMENT_SIZE;  // the hot segment plus the one still filling
+        check(index.timeKeyCount() <= hotLimit, "time index holds " + index.timeKeyCount() + " keys, more than the hot window");
+        int indexedIds = 0;
+        for (String customer : CUSTOMERS) {
+            indexedIds += index.idsForCustomer(customer).length;
+        }
+        check(indexedIds <= hotLimit, "customer index holds " + indexedIds + " ids, more than the hot window");
+
+        int found = 0;
+        for (String customer : CUSTOMERS) {
+            List<OrderManager.Order> orders = manager.findOrdersByCustomer(customer);
+            for (int i = 0; i < orders.size(); i++) {
+                checkEquals(customer, orders.get(i).getCustomerName(), "customer of a found order");
+                check(i == 0 || orders.get(i - 1).getId() < orders.get(i).getId(), "orders not in id order");
+            }
+            found += orders.size();
+        }
+        checkEquals(total, found, "orders found by customer");
+        checkEquals(total, manager.findOrdersBetween(start, LocalDateTime.now().plusSeconds(1)).size(),
+                "orders found by time");
+        failedSpillKeepsOrdersHot();
+        passed("OrderIndexTieringCheck");
+    }
+
+    // The spill directory is replaced by a plain file, so every spill fails until it is put back
+    private static void failedSpillKeepsOrdersHot() throws Exception {
+        Path directory = Files.createTempDirectory("cold-tier");
+        try {
+            OrderManager manager = new OrderManager(SystemConfig.getInstance());
+            manager.enableTiering(1, ColdOrderTier.spillTo(directory));
+            Files.delete(directory);
+            Files.createFile(directory);
+            Food food = new FoodSnapshot("Check Salad", 575);
+
+            int total = 3 * OrderStore.SEGMENT_SIZE;
+            for (int i = 0; i < total; i++) {
+                check(manager.placeOrder(CUSTOMERS[i % CUSTOMERS.length], food, null) != null, "order " + i);
+            }
+            manager.awaitCompaction();
+            checkEquals(total, manager.getTotalOrders(), "orders stored while spilling fails");
+            checkEquals(total, manager.getIndex().idsForCustomer("Ann").length
+                    + manager.getIndex().idsForCustomer("Bob").length
+                    + manager.getIndex().idsForCustomer("Cleo").length, "orders still indexed");
+            check(manager.getOrder(1001) != null && manager.getOrder(1001).getFood() == food, "oldest order still hot");
+
+            Files.delete(directory);
+            Files.createDirectory(directory);
+            manager.awaitCompaction();
+            check(manager.getOrder(1001).getFood() != food, "oldest order compacted once spilling works again");
+            checkEquals(total, manager.findOrdersBetween(LocalDateTime.now().minusDays(1), LocalDateTime.now().plusDays(1)).size(),
+                    "orders found after the retry");
+        } finally {
+            if (Files.isDirectory(directory)) {
+                try (var files = Files.list(directory)) {
+                    files.forEach(path -> path.toFile().delete());
+                }
+            }
+            Files.deleteIfExists(directory);
+        }
+    }
+}
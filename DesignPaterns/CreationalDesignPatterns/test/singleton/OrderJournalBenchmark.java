@@ -0,0 +1,83 @@
+package singleton;
+
+import models.Food;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+
+// Orders/sec and placeOrder latency (p50/p99) with a journal in each sync mode (run by scripts/journal-bench.sh)
+//
+//   OrderJournalBenchmark [threads] [ordersPerThread]
+public class OrderJournalBenchmark {
+    private static final long EVERY_N_MILLIS = 10;
+    private static final long EVERY_N_ORDERS = 64;
+
+    public static void main(String[] args) throws Exception {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        int ordersPerThread = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+        Path directory = Files.createTempDirectory("journal-bench");
+        try {
+            run(null, null, 0, directory, threads, ordersPerThread);  // warm-up, not reported
+            System.out.printf("%d threads x %d orders%n", threads, ordersPerThread);
+            System.out.printf("%-16s %12s %10s %10s%n", "mode", "orders/sec", "p50 us", "p99 us");
+            run("no journal", null, 0, directory, threads, ordersPerThread);
+            run("PER_ORDER", OrderJournal.SyncMode.PER_ORDER, 0, directory, threads, ordersPerThread);
+            run("EVERY_N_MILLIS", OrderJournal.SyncMode.EVERY_N_MILLIS, EVERY_N_MILLIS, directory, threads, ordersPerThread);
+            run("EVERY_N_ORDERS", OrderJournal.SyncMode.EVERY_N_ORDERS, EVERY_N_ORDERS, directory, threads, ordersPerThread);
+        } finally {
+            try (var files = Files.list(directory)) {
+                files.forEach(path -> path.toFile().delete());
+            }
+            directory.toFile().delete();
+        }
+    }
+
+    private static void run(String label, OrderJournal.SyncMode mode, long interval, Path directory,
+                            int threads, int ordersPerThread) throws Exception {
+        OrderManager manager = new OrderManager(new SystemConfig(new ConfigSnapshot(350, "Open", "Bench", Integer.MAX_VALUE)));
+        if (mode != null) {
+            manager.enableJournal(directory.resolve(label + ".journal"), mode, interval);
+        }
+        Food food = new FoodSnapshot("Bench Pizza", 1200);
+        long[][] latencies = new long[threads][ordersPerThread];
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            long[] mine = latencies[t];
+            workers[t] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < mine.length; i++) {
+                    long before = System.nanoTime();
+                    manager.placeOrder("bench", food, null);
+                    mine[i] = System.nanoTime() - before;
+                }
+            });
+            workers[t].start();
+        }
+
+        long began = System.nanoTime();
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        long elapsed = System.nanoTime() - began;
+        manager.closeJournal();
+
+        long[] all = new long[threads * ordersPerThread];
+        for (int t = 0; t < threads; t++) {
+            System.arraycopy(latencies[t], 0, all, t * ordersPerThread, ordersPerThread);
+        }
+        Arrays.sort(all);
+        if (label == null) {
+            return;
+        }
+        System.out.printf("%-16s %12.0f %10.1f %10.1f%n", label, all.length * 1e9 / elapsed,
+                all[all.length / 2] / 1000.0, all[(int) (all.length * 0.99)] / 1000.0);
+    }
+}
@@ -0,0 +1,167 @@
+package singleton;
+
+import decorator.ExpressDeliveryDecorator;
+import factory.MenuCatalog;
+import models.Food;
+import models.Pizza;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static checks.Checks.*;
+
+// Replaying a journal restores the orders, the statistics and the next order id, and stops cleanly at a
+// record that was torn by a crash or fails its checksum
+public class OrderJournalCheck {
+    private static final int ORDERS = 20;
+    private static final int HEADER_SIZE = 8;
+    private static final int RECORD_HEADER_SIZE = 8;
+
+    public static void main(String[] args) throws Exception {
+        Path directory = Files.createTempDirectory("order-journal");
+        try {
+            replayRestoresEverything(directory.resolve("full.journal"));
+            replayKeepsIngredientsAndDecorators(directory.resolve("decorated.journal"));
+            tornLastRecordIsDropped(directory.resolve("torn.journal"));
+            checksumMismatchEndsReplay(directory.resolve("corrupt.journal"));
+            flushersShareOneThread(directory);
+        } finally {
+            try (var files = Files.list(directory)) {
+                files.forEach(path -> path.toFile().delete());
+            }
+            directory.toFile().delete();
+        }
+        passed("OrderJournalCheck");
+    }
+
+    private static OrderManager open(Path file) throws Exception {
+        OrderManager manager = new OrderManager(new SystemConfig(new ConfigSnapshot(350, "Open", "Check", 1_000_000)));
+        manager.enableJournal(file, OrderJournal.SyncMode.PER_ORDER, 0);
+        return manager;
+    }
+
+    private static void fill(Path file) throws Exception {
+        OrderManager manager = open(file);
+        for (int i = 0; i < ORDERS; i++) {
+            manager.placeOrder(i % 2 == 0 ? "Ann" : "Bob", new FoodSnapshot("Dish " + i, 500 + i), null);
+        }
+        manager.closeJournal();
+    }
+
+    private static void replayRestoresEverything(Path file) throws Exception {
+        fill(file);
+        OrderManager replayed = open(file);
+        checkEquals(ORDERS, replayed.getTotalOrders(), "orders replayed");
+        checkEquals(1000 + ORDERS, replayed.getLastOrderId(), "last order id");
+        checkEquals(ORDERS, replayed.getStatistics().getOrderCount(), "order count statistic");
+        checkEquals(ORDERS / 2, replayed.getStatistics().getOrderCountForCustomer("Bob"), "orders of one customer");
+        checkEquals(ORDERS / 2, replayed.findOrdersByCustomer("Ann").size(), "customer index rebuilt");
+
+        OrderManager.Order order = replayed.getOrder(1006);
+        checkEquals("Bob", order.getCustomerName(), "customer of a replayed order");
+        checkEquals("Dish 5", order.getFood().getName(), "food of a replayed order");
+        checkEquals(505 + 350, order.getTotalCents(), "total of a replayed order");
+
+        checkEquals(1000 + ORDERS + 1, replayed.placeOrder("Cleo", new FoodSnapshot("Soup", 400), null).getId(),
+                "first id after replay");
+        replayed.closeJournal();
+    }
+
+    private static void replayKeepsIngredientsAndDecorators(Path file) throws Exception {
+        MenuCatalog catalog = MenuCatalog.current();
+        Pizza pizza = new Pizza(Arrays.asList(catalog.getIngredient("Mushrooms"), catalog.getIngredient("Olives")));
+        Food food = new ExpressDeliveryDecorator(pizza);
+        OrderManager manager = open(file);
+        manager.placeOrder("Ann", food, null);
+        manager.closeJournal();
+
+        OrderManager replayed = open(file);
+        Food restored = replayed.getOrder(1001).getFood();
+        check(restored instanceof ExpressDeliveryDecorator, "decorator replayed, got " + restored.getClass().getSimpleName());
+        checkEquals(food.getPriceCents(), restored.getPriceCents(), "price of the replayed food");
+        Pizza restoredPizza = (Pizza) ((ExpressDeliveryDecorator) restored).getDecoratedFood();
+        checkEquals(pizza.getIngredients(), restoredPizza.getIngredients(), "ingredients of the replayed pizza");
+        replayed.closeJournal();
+    }
+
+    // A crash in the middle of the last append leaves its length written but part of its payload missing
+    private static void tornLastRecordIsDropped(Path file) throws Exception {
+        fill(file);
+        List<Integer> starts = recordStarts(file);
+        int last = starts.get(starts.size() - 1);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(last + RECORD_HEADER_SIZE + 4);
+        }
+
+        OrderManager replayed = open(file);
+        checkEquals(ORDERS - 1, replayed.getTotalOrders(), "orders replayed before the torn record");
+        checkEquals(1000 + ORDERS - 1, replayed.getLastOrderId(), "last order id before the torn record");
+        OrderManager.Order next = replayed.placeOrder("After Crash", new FoodSnapshot("Soup", 400), null);
+        checkEquals(1000 + ORDERS, next.getId(), "the torn order's id is handed out again");
+        replayed.closeJournal();
+
+        OrderManager reopened = open(file);
+        checkEquals(ORDERS, reopened.getTotalOrders(), "orders after appending over the torn record");
+        checkEquals("After Crash", reopened.getOrder(1000 + ORDERS).getCustomerName(), "order written over the torn one");
+        reopened.closeJournal();
+    }
+
+    // A record that fails its checksum ends the replay; nothing after it is trusted
+    private static void checksumMismatchEndsReplay(Path file) throws Exception {
+        fill(file);
+        int broken = recordStarts(file).get(10);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer b = ByteBuffer.allocate(1);
+            long position = broken + RECORD_HEADER_SIZE + 2;
+            channel.read(b, position);
+            b.put(0, (byte) (b.get(0) ^ 0x5A)).rewind();
+            channel.write(b, position);
+        }
+
+        OrderManager replayed = open(file);
+        checkEquals(10, replayed.getTotalOrders(), "orders replayed before the corrupt record");
+        checkEquals(1010, replayed.getLastOrderId(), "last order id before the corrupt record");
+        checkEquals(10, replayed.getStatistics().getOrderCount(), "statistics count only replayed orders");
+        replayed.closeJournal();
+    }
+
+    private static void flushersShareOneThread(Path directory) throws Exception {
+        List<OrderJournal> journals = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            OrderJournal journal = OrderJournal.open(directory.resolve("timed-" + i + ".journal"),
+                    OrderJournal.SyncMode.EVERY_N_MILLIS, 5);
+            journal.replay(order -> { });
+            journals.add(journal);
+        }
+        long flushers = Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().equals("order-journal-flusher"))
+                .count();
+        checkEquals(1, flushers, "flusher threads for three timed journals");
+        for (OrderJournal journal : journals) {
+            journal.close();
+        }
+    }
+
+    // File offsets of every record, read the way replay does (header, then [length][crc][payload] records)
+    private static List<Integer> recordStarts(Path file) throws Exception {
+        ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(file));
+        List<Integer> starts = new ArrayList<>();
+        int position = HEADER_SIZE;
+        while (position + RECORD_HEADER_SIZE <= bytes.limit()) {
+            int length = bytes.getInt(position);
+            if (length <= 0) {
+                break;
+            }
+            starts.add(position);
+            position += RECORD_HEADER_SIZE + length;
+        }
+        checkEquals(ORDERS, starts.size(), "records in the journal file");
+        return starts;
+    }
+}
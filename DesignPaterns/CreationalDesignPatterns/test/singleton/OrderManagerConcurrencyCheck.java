@@ -0,0 +1,41 @@
+package singleton;
+
+import models.Food;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static checks.Checks.*;
+
+// Many threads placing orders at once must get unique, gap-free ids and every order must be stored
+public class OrderManagerConcurrencyCheck {
+    private static final int THREADS = 8;
+    private static final int ORDERS_PER_THREAD = 20_000;
+
+    public static void main(String[] args) throws Exception {
+        OrderManager manager = new OrderManager(SystemConfig.getInstance());
+        Food food = new FoodSnapshot("Check Pizza", 1000);
+        Set<Integer> ids = ConcurrentHashMap.newKeySet();
+
+        runConcurrently(THREADS, t -> {
+            for (int i = 0; i < ORDERS_PER_THREAD; i++) {
+                OrderManager.Order order = manager.placeOrder("customer-" + t, food, null);
+                check(ids.add(order.getId()), "duplicate order id " + order.getId());
+            }
+        });
+
+        int total = THREADS * ORDERS_PER_THREAD;
+        checkEquals(total, ids.size(), "distinct ids");
+        checkEquals(total, manager.getTotalOrders(), "stored orders");
+        checkEquals(1000 + total, manager.getLastOrderId(), "last order id");
+
+        Set<Integer> seen = new HashSet<>();
+        manager.forEachOrder(order -> seen.add(order.getId()));
+        checkEquals(total, seen.size(), "orders visited by forEachOrder");
+        for (int id = 1001; id <= 1000 + total; id++) {
+            check(manager.getOrder(id) != null && manager.getOrder(id).getId() == id, "order " + id + " not stored");
+        }
+        passed("OrderManagerConcurrencyCheck");
+    }
+}
@@ -0,0 +1,82 @@
+package singleton;
+
+import builder.FoodBuilder;
+import factory.MenuCatalog;
+import inventory.IngredientInventory;
+import models.*;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static checks.Checks.*;
+
+// Placing an order takes its ingredients from the inventory, all or nothing; an order the kitchen
+// cannot make is refused without using an order id
+public class OrderManagerInventoryCheck {
+    private static final int THREADS = 8;
+    private static final int STOCK = 500;
+
+    public static void main(String[] args) throws Exception {
+        placementTakesTheStock();
+        concurrentPlacementsStopAtZero();
+        passed("OrderManagerInventoryCheck");
+    }
+
+    private static OrderManager manager(IngredientInventory inventory) {
+        OrderManager manager = new OrderManager(new SystemConfig(new ConfigSnapshot(350, "Open", "Check", Integer.MAX_VALUE)));
+        manager.useInventory(inventory);
+        return manager;
+    }
+
+    private static void placementTakesTheStock() {
+        IngredientInventory inventory = new IngredientInventory();
+        OrderManager manager = manager(inventory);
+        Ingredient mushrooms = MenuCatalog.current().getIngredient("Mushrooms");
+        Ingredient olives = MenuCatalog.current().getIngredient("Olives");
+        inventory.setStock(mushrooms, 3);
+        inventory.setStock(olives, 1);
+
+        Food food = new FoodBuilder(new Pizza(), inventory).addIngredient(mushrooms).addIngredient(olives).build();
+        check(manager.placeOrder("Ann", food, null) != null, "first order");
+        checkEquals(2, inventory.getStock(mushrooms), "mushrooms after one order");
+        checkEquals(0, inventory.getStock(olives), "olives after one order");
+
+        int lastId = manager.getLastOrderId();
+        try {
+            manager.placeOrder("Bob", food, null);
+            throw new AssertionError("an order without olives in stock should be refused");
+        } catch (IllegalStateException expected) {
+            checkEquals(2, inventory.getStock(mushrooms), "mushrooms are given back when the order is refused");
+            checkEquals(lastId, manager.getLastOrderId(), "a refused order uses no id");
+            checkEquals(1, manager.getTotalOrders(), "orders placed");
+        }
+
+        // Untracked ingredients and foods without ingredients are never refused
+        check(manager.placeOrder("Cleo", new FoodSnapshot("Check Pizza", 1000), null) != null, "order of a snapshot");
+    }
+
+    private static void concurrentPlacementsStopAtZero() throws Exception {
+        IngredientInventory inventory = new IngredientInventory();
+        OrderManager manager = manager(inventory);
+        Ingredient basil = MenuCatalog.current().getIngredient("Basil");
+        inventory.setStock(basil, STOCK);
+        Food food = new FoodBuilder(new Pizza(), inventory).addIngredient(basil).build();
+        AtomicInteger placed = new AtomicInteger();
+        AtomicInteger refused = new AtomicInteger();
+
+        runConcurrently(THREADS, t -> {
+            for (int i = 0; i < STOCK / 2; i++) {
+                try {
+                    manager.placeOrder("customer-" + t, food, null);
+                    placed.incrementAndGet();
+                } catch (IllegalStateException e) {
+                    refused.incrementAndGet();
+                }
+            }
+        });
+
+        checkEquals(STOCK, placed.get(), "orders placed");
+        checkEquals(THREADS * (STOCK / 2) - STOCK, refused.get(), "orders refused");
+        checkEquals(0, inventory.getStock(basil), "basil left");
+        checkEquals(STOCK, manager.getTotalOrders(), "orders stored");
+    }
+}
@@ -0,0 +1,49 @@
+package singleton;
+
+import models.Food;
+
+import static checks.Checks.*;
+
+// Statistics recorded from many threads must add up to exactly what a scan of the stored orders gives
+public class OrderStatisticsConcurrencyCheck {
+    private static final int THREADS = 8;
+    private static final int ORDERS_PER_THREAD = 10_000;
+    private static final String[] CUSTOMERS = {"Ann", "Bob", "Cleo", "Dan"};
+
+    public static void main(String[] args) throws Exception {
+        OrderManager manager = new OrderManager(SystemConfig.getInstance());
+        Food[] foods = {new FoodSnapshot("Check Pizza", 1099), new FoodSnapshot("Check Salad", 733)};
+
+        runConcurrently(THREADS, t -> {
+            for (int i = 0; i < ORDERS_PER_THREAD; i++) {
+                manager.placeOrder(CUSTOMERS[(t + i) % CUSTOMERS.length], foods[i % foods.length], null);
+            }
+        });
+
+        long[] scannedCents = new long[1];
+        long[] customerCounts = new long[CUSTOMERS.length];
+        manager.forEachOrder(order -> {
+            scannedCents[0] += order.getTotalCents();
+            for (int c = 0; c < CUSTOMERS.length; c++) {
+                if (CUSTOMERS[c].equals(order.getCustomerName())) {
+                    customerCounts[c]++;
+                }
+            }
+        });
+
+        OrderStatistics statistics = manager.getStatistics();
+        int total = THREADS * ORDERS_PER_THREAD;
+        checkEquals(total, statistics.getOrderCount(), "order count");
+        checkEquals(scannedCents[0], Math.round(statistics.getTotalRevenue() * 100), "revenue in cents");
+
+        long hourly = 0;
+        for (int hour = 0; hour < 24; hour++) {
+            hourly += statistics.getOrderCountForHour(hour);
+        }
+        checkEquals(total, hourly, "orders summed over the hourly buckets");
+        for (int c = 0; c < CUSTOMERS.length; c++) {
+            checkEquals(customerCounts[c], statistics.getOrderCountForCustomer(CUSTOMERS[c]), "orders for " + CUSTOMERS[c]);
+        }
+        passed("OrderStatisticsConcurrencyCheck");
+    }
+}
@@ -0,0 +1,75 @@
+package singleton;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static checks.Checks.*;
+
+// File reloads and programmatic updates racing on the same config must not undo each other, and a
+// restaurant closed through its config stops taking orders at once
+public class SystemConfigCheck {
+    private static final int UPDATERS = 4;
+    private static final int UPDATES_PER_THREAD = 2_000;
+    private static final int RELOADS = 300;
+
+    public static void main(String[] args) throws Exception {
+        Path file = Files.createTempFile("system-config", ".properties");
+        try {
+            Files.writeString(file, "delivery.fee=4.25\n");
+            SystemConfig config = new SystemConfig(new ConfigSnapshot(350, "Open", "Check", 0));
+
+            runConcurrently(UPDATERS + 1, t -> {
+                try {
+                    if (t == 0) {
+                        for (int i = 0; i < RELOADS; i++) {
+                            config.loadFrom(file);
+                        }
+                    } else {
+                        for (int i = 0; i < UPDATES_PER_THREAD; i++) {
+                            config.update(c -> new ConfigSnapshot(c.getDeliveryFeeCents(), c.getRestaurantStatus(),
+                                    c.getRestaurantName(), c.getMaxOrdersPerDay() + 1));
+                        }
+                    }
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            });
+
+            checkEquals(UPDATERS * UPDATES_PER_THREAD, config.getMaxOrdersPerDay(), "updates kept across reloads");
+            checkEquals(425, config.getDeliveryFeeCents(), "fee from the file");
+            checkEquals("Check", config.getRestaurantName(), "name not in the file");
+
+            Files.writeString(file, "delivery.fee=-1\n");
+            try {
+                config.loadFrom(file);
+                throw new AssertionError("a negative fee should be refused");
+            } catch (IOException expected) {
+                checkEquals(425, config.getDeliveryFeeCents(), "fee after a refused reload");
+            }
+            closingStopsOrders(file);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+        passed("SystemConfigCheck");
+    }
+
+    private static void closingStopsOrders(Path file) throws IOException {
+        SystemConfig config = new SystemConfig(new ConfigSnapshot(350, "Open", "Check", 100));
+        OrderManager manager = new OrderManager(config);
+        FoodSnapshot food = new FoodSnapshot("Check Pizza", 1000);
+        check(manager.placeOrder("Ann", food, null) != null, "order while open");
+
+        config.update(c -> new ConfigSnapshot(c.getDeliveryFeeCents(), "Closed", c.getRestaurantName(), c.getMaxOrdersPerDay()));
+        checkEquals(null, manager.placeOrder("Bob", food, null), "order while closed");
+
+        Files.writeString(file, "restaurant.status=Open\n");
+        config.loadFrom(file);
+        check(manager.placeOrder("Cleo", food, null) != null, "order after reopening from the file");
+
+        Files.writeString(file, "restaurant.status=Closed\n");
+        config.loadFrom(file);
+        checkEquals(null, manager.placeOrder("Dan", food, null), "order after closing from the file");
+        checkEquals(2, manager.getTotalOrders(), "orders placed");
+    }
+}
@@ -0,0 +1,154 @@
+package singleton;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static checks.Checks.*;
+
+// Evicting idle tenants must never lose orders or hand out an order id twice
+public class TenantRegistryCheck {
+    private static final int THREADS = 4;
+    private static final int ROUNDS = 40;
+    private static final int ORDERS_PER_ROUND = 25;
+
+    public static void main(String[] args) throws Exception {
+        Path directory = Files.createTempDirectory("tenant-journals");
+        try {
+            withoutJournalsOnlyEmptyTenantsGo();
+            journaledTenantComesBack(directory.resolve("reload"));
+            slowLoadDoesNotBlockNeighbours();
+            evictionRacingLookups(directory.resolve("race"));
+        } finally {
+            try (Stream<Path> files = Files.walk(directory)) {
+                files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+        passed("TenantRegistryCheck");
+    }
+
+    private static TenantRegistry journaled(Path directory) throws Exception {
+        return new TenantRegistry(id -> new ConfigSnapshot(350, "Open", id, 1_000_000), directory,
+                OrderJournal.SyncMode.EVERY_N_ORDERS, 1000);
+    }
+
+    private static void withoutJournalsOnlyEmptyTenantsGo() throws Exception {
+        TenantRegistry registry = new TenantRegistry(id -> new ConfigSnapshot(350, "Open", id, 100));
+        registry.get("idle");
+        registry.get("busy").getOrders().placeOrder("Ann", new FoodSnapshot("Soup", 500), null);
+        checkEquals(1, registry.evictIdle(Duration.ZERO), "tenants evicted");
+        checkEquals(1, registry.size(), "tenants left");
+        checkEquals(1, registry.get("busy").getOrders().getTotalOrders(), "orders of the tenant that stayed");
+        registry.close();
+    }
+
+    private static void journaledTenantComesBack(Path directory) throws Exception {
+        TenantRegistry registry = journaled(directory);
+        for (int i = 0; i < 5; i++) {
+            registry.get("pizzeria").getOrders().placeOrder("Ann", new FoodSnapshot("Pizza", 1200), null);
+        }
+        checkEquals(1, registry.evictIdle(Duration.ZERO), "tenants evicted");
+        checkEquals(0, registry.size(), "tenants left");
+
+        OrderManager orders = registry.get("pizzeria").getOrders();
+        checkEquals(5, orders.getTotalOrders(), "orders replayed after eviction");
+        checkEquals(1006, orders.placeOrder("Bob", new FoodSnapshot("Pizza", 1200), null).getId(),
+                "id of the first order after reloading");
+        registry.close();
+    }
+
+    // "slow" cannot finish loading until another restaurant in the same hash bin has been loaded
+    private static void slowLoadDoesNotBlockNeighbours() throws Exception {
+        String neighbour = sameBinAs("slow");
+        CountDownLatch slowLoading = new CountDownLatch(1);
+        CountDownLatch neighbourLoaded = new CountDownLatch(1);
+        TenantRegistry registry = new TenantRegistry(id -> {
+            if (id.equals("slow")) {
+                slowLoading.countDown();
+                try {
+                    neighbourLoaded.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return new ConfigSnapshot(350, "Open", id, 100);
+        });
+        Thread slow = new Thread(() -> registry.get("slow"));
+        slow.setDaemon(true);
+        slow.start();
+        slowLoading.await();
+
+        long start = System.nanoTime();
+        registry.get(neighbour);
+        neighbourLoaded.countDown();
+        check(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5), "loading a neighbour waited for the slow load");
+        slow.join();
+        checkEquals(2, registry.size(), "tenants loaded");
+        registry.close();
+    }
+
+    // A key that lands in the same bin of a small ConcurrentHashMap
+    private static String sameBinAs(String key) {
+        for (int i = 0; ; i++) {
+            String candidate = "restaurant-" + i;
+            if (bin(candidate) == bin(key)) {
+                return candidate;
+            }
+        }
+    }
+
+    private static int bin(String key) {
+        int h = key.hashCode();
+        return (h ^ (h >>> 16)) & 15;
+    }
+
+    private static void evictionRacingLookups(Path directory) throws Exception {
+        TenantRegistry registry = journaled(directory);
+        Set<Integer> ids = ConcurrentHashMap.newKeySet();
+        AtomicBoolean done = new AtomicBoolean();
+        int[] evictions = {0};
+        Thread evictor = new Thread(() -> {
+            while (!done.get()) {
+                evictions[0] += registry.evictIdle(Duration.ofMillis(20));
+                Thread.yield();
+            }
+        });
+        evictor.setDaemon(true);
+        evictor.start();
+
+        try {
+            runConcurrently(THREADS, t -> {
+                for (int round = 0; round < ROUNDS; round++) {
+                    for (int i = 0; i < ORDERS_PER_ROUND; i++) {
+                        OrderManager.Order order = registry.withTenant("diner", tenant -> tenant.getOrders()
+                                .placeOrder("customer-" + t, new FoodSnapshot("Burger", 900), null));
+                        check(ids.add(order.getId()), "order id " + order.getId() + " handed out twice");
+                    }
+                    if (round % 10 == 9) {
+                        try {
+                            Thread.sleep(60);  // go idle so the tenant gets evicted
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                }
+            });
+        } finally {
+            done.set(true);
+            evictor.join();
+        }
+
+        int total = THREADS * ROUNDS * ORDERS_PER_ROUND;
+        check(evictions[0] > 0, "the tenant was never evicted, so the race was not exercised");
+        checkEquals(total, ids.size(), "distinct order ids");
+        checkEquals(total, registry.get("diner").getOrders().getTotalOrders(), "orders after evictions");
+        registry.close();
+    }
+}